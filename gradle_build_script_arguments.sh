@@ -0,0 +1,9 @@
+set -- -Dorg.gradle.appname=gradlew 
+-classpath 
+/root/project/gradle/wrapper/gradle-wrapper.jar 
+org.gradle.wrapper.GradleWrapperMain 
+--offline 
+-q 
+compileJava 
+compileJmhJava 
+ "$@"
@@ -0,0 +1,130 @@
+package com.workforcemgmt.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file against the committed baseline and exits with status 1 when a
+ * benchmark got slower by more than the tolerance. Benchmarks are matched by name, thread count
+ * and parameters; ones missing from either side are listed but never fail the comparison.
+ * Configured through system properties:
+ * <ul>
+ *   <li>{@code jmh.result} - result file, default {@code jmh-result.json}</li>
+ *   <li>{@code jmh.baseline} - baseline file, default {@code src/jmh/baseline.json}</li>
+ *   <li>{@code jmh.tolerance} - allowed slowdown as a fraction, default {@code 0.2}</li>
+ *   <li>{@code jmh.updateBaseline} - when {@code true}, replace the baseline with the result</li>
+ * </ul>
+ * The baseline keeps only what the comparison reads: benchmark, mode, threads, parameters, score,
+ * error and unit. Scores depend on the machine, JDK and load, so the comparison only means
+ * something on the machine that recorded the baseline; anywhere else, record one first.
+ */
+public final class BaselineComparison {
+
+    private BaselineComparison() {}
+
+    public static void main(String[] args) throws IOException {
+        Path result = Path.of(System.getProperty("jmh.result", "jmh-result.json"));
+        Path baseline = Path.of(System.getProperty("jmh.baseline", "src/jmh/baseline.json"));
+        double tolerance = Double.parseDouble(System.getProperty("jmh.tolerance", "0.2"));
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        if (Boolean.getBoolean("jmh.updateBaseline")) {
+            objectMapper.writerWithDefaultPrettyPrinter()
+                .writeValue(baseline.toFile(), trim(objectMapper, objectMapper.readTree(result.toFile())));
+            System.out.println("Baseline " + baseline + " replaced by " + result);
+            return;
+        }
+
+        Map<String, JsonNode> current = byKey(objectMapper.readTree(result.toFile()));
+        Map<String, JsonNode> previous = byKey(objectMapper.readTree(baseline.toFile()));
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode run = entry.getValue();
+            JsonNode before = previous.remove(entry.getKey());
+            double score = run.path("primaryMetric").path("score").asDouble();
+            String unit = run.path("primaryMetric").path("scoreUnit").asText();
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s  new%n", entry.getKey(), "-", score, "");
+                continue;
+            }
+            double baseScore = before.path("primaryMetric").path("score").asDouble();
+            if (!unit.equals(before.path("primaryMetric").path("scoreUnit").asText())) {
+                System.out.printf("%-90s %14.3f %14.3f %9s  unit changed, not compared%n",
+                                  entry.getKey(), baseScore, score, "");
+                continue;
+            }
+            // Positive when worse: throughput falling or time per operation rising
+            double slowdown = "thrpt".equals(run.path("mode").asText())
+                ? (baseScore - score) / baseScore
+                : (score - baseScore) / baseScore;
+            boolean regressed = slowdown > tolerance;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%%s%n", entry.getKey(), baseScore, score,
+                              slowdown * 100, regressed ? "  REGRESSION" : "");
+        }
+        for (String missing : previous.keySet()) {
+            System.out.printf("%-90s %14s %14s %9s  not run%n", missing, "", "-", "");
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.0f%%%n", regressions, tolerance * 100);
+            System.exit(1);
+        }
+        System.out.printf("No regressions beyond %.0f%%%n", tolerance * 100);
+    }
+
+    /**
+     * Runs without the machine-specific details JMH records, such as the JVM path and arguments
+     */
+    private static ArrayNode trim(ObjectMapper objectMapper, JsonNode runs) {
+        ArrayNode trimmed = objectMapper.createArrayNode();
+        for (JsonNode run : runs) {
+            ObjectNode entry = trimmed.addObject();
+            entry.set("benchmark", run.path("benchmark"));
+            entry.set("mode", run.path("mode"));
+            entry.set("threads", run.path("threads"));
+            if (run.has("params")) {
+                entry.set("params", run.path("params"));
+            }
+            JsonNode metric = run.path("primaryMetric");
+            entry.putObject("primaryMetric")
+                .put("score", metric.path("score").asDouble())
+                .put("scoreError", metric.path("scoreError").asDouble())
+                .put("scoreUnit", metric.path("scoreUnit").asText());
+        }
+        return trimmed;
+    }
+
+    /**
+     * Runs of a result file keyed by benchmark, mode, thread count and sorted parameters
+     */
+    private static Map<String, JsonNode> byKey(JsonNode runs) {
+        Map<String, JsonNode> byKey = new LinkedHashMap<>();
+        for (JsonNode run : runs) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText())
+                .append(" [").append(run.path("mode").asText())
+                .append(", threads=").append(run.path("threads").asInt());
+            Map<String, String> params = new TreeMap<>();
+            for (Iterator<Map.Entry<String, JsonNode>> it = run.path("params").fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> param = it.next();
+                params.put(param.getKey(), param.getValue().asText());
+            }
+            params.forEach((name, value) -> key.append(", ").append(name).append('=').append(value));
+            byKey.put(key.append(']').toString(), run);
+        }
+        return byKey;
+    }
+}
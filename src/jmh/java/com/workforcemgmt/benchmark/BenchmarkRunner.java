@@ -0,0 +1,64 @@
+package com.workforcemgmt.benchmark;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatFactory;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs the benchmarks once per thread count and writes all results to one JMH JSON file, the
+ * input of {@link BaselineComparison}. The defaults are the settings the committed baseline was
+ * recorded with. Configured through system properties:
+ * <ul>
+ *   <li>{@code jmh.include} - benchmark name pattern, default all</li>
+ *   <li>{@code jmh.storeSizes} - comma separated store sizes, default the {@code @Param} values</li>
+ *   <li>{@code jmh.threads} - comma separated thread counts, default {@code 1,4}</li>
+ *   <li>{@code jmh.jvmArgs} - extra arguments of the forked JVMs, default {@code -Xmx4g}</li>
+ *   <li>{@code jmh.result} - result file, default {@code jmh-result.json}</li>
+ * </ul>
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        String include = System.getProperty("jmh.include", ".*");
+        String storeSizes = System.getProperty("jmh.storeSizes", "");
+        String threads = System.getProperty("jmh.threads", "1,4");
+        String jvmArgs = System.getProperty("jmh.jvmArgs", "-Xmx4g");
+        Path result = Path.of(System.getProperty("jmh.result", "jmh-result.json"));
+
+        List<RunResult> results = new ArrayList<>();
+        for (String count : split(threads)) {
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(include)
+                .threads(Integer.parseInt(count))
+                .jvmArgsAppend(split(jvmArgs).toArray(String[]::new))
+                .shouldFailOnError(true);
+            if (!storeSizes.isBlank()) {
+                options.param("storeSize", split(storeSizes).toArray(String[]::new));
+            }
+            results.addAll(new Runner(options.build()).run());
+        }
+
+        if (result.getParent() != null) {
+            Files.createDirectories(result.getParent());
+        }
+        ResultFormatFactory.getInstance(ResultFormatType.JSON, result.toString()).writeOut(results);
+        System.out.println("Results written to " + result);
+    }
+
+    private static List<String> split(String values) {
+        return Arrays.stream(values.split("[,\\s]+")).filter(value -> !value.isEmpty()).toList();
+    }
+}
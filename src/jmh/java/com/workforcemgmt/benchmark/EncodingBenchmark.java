@@ -0,0 +1,85 @@
+package com.workforcemgmt.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.workforcemgmt.dto.TaskDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cost of writing a page of task DTOs in each wire encoding, with and without gzip, compressed
+ * the way ResponseCompressionFilter does it. The score is the encode time; the bytes on the wire
+ * of each combination are printed once per trial, as they do not vary between runs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncodingBenchmark {
+    private static final int PAGE_SIZE = 100;
+
+    @State(Scope.Benchmark)
+    public static class Page {
+        @Param({"json", "cbor", "smile"})
+        public String format;
+
+        @Param({"identity", "gzip"})
+        public String coding;
+
+        ObjectMapper mapper;
+        List<TaskDto> tasks;
+
+        @Setup(Level.Trial)
+        public void start() throws IOException {
+            try (SeededApplication app = SeededApplication.start(WebApplicationType.NONE, PAGE_SIZE)) {
+                ObjectMapper objectMapper = app.context.getBean(ObjectMapper.class);
+                mapper = switch (format) {
+                    case "json" -> objectMapper;
+                    case "cbor" -> objectMapper.copyWith(new CBORFactory());
+                    case "smile" -> objectMapper.copyWith(new SmileFactory());
+                    default -> throw new IllegalArgumentException("Unknown format " + format);
+                };
+                tasks = app.taskMapper.tasksToTaskDtos(app.taskIds.stream().map(app.taskService::getTaskById).toList());
+            }
+            System.out.printf("%n%s/%s: %d bytes on the wire for %d tasks%n", format, coding, encode(this).length,
+                              tasks.size());
+        }
+    }
+
+    @Benchmark
+    public byte[] encodeTaskPage(Page page) throws IOException {
+        return encode(page);
+    }
+
+    private static byte[] encode(Page page) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+        if ("gzip".equals(page.coding)) {
+            try (OutputStream compressor = new GZIPOutputStream(out, 8192, true)) {
+                page.mapper.writeValue(compressor, page.tasks);
+            }
+        } else {
+            page.mapper.writeValue(out, page.tasks);
+        }
+        return out.toByteArray();
+    }
+}
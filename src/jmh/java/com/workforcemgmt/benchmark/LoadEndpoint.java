@@ -0,0 +1,157 @@
+package com.workforcemgmt.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Endpoints driven by the load test, each with its weight in the default mix. Requests pick their
+ * tasks, customers and staff at random from the seeded dataset; list endpoints ask for a field
+ * projection, as the mobile clients do.
+ */
+enum LoadEndpoint {
+    GET_TASK(20) {
+        @Override
+        HttpRequest.Builder request(Target target, SplittableRandom random) {
+            return target.get("/api/tasks/" + pick(target.app().taskIds, random));
+        }
+    },
+    TASKS_BY_DATE_RANGE(10) {
+        @Override
+        HttpRequest.Builder request(Target target, SplittableRandom random) {
+            return target.get("/api/tasks/date-range?startDate=" + target.app().today
+                              + "&endDate=" + target.app().today.plusDays(6) + "&fields=" + LIST_FIELDS);
+        }
+    },
+    SMART_DAILY(10) {
+        @Override
+        HttpRequest.Builder request(Target target, SplittableRandom random) {
+            return target.get("/api/tasks/smart-daily?startDate=" + target.app().today
+                              + "&endDate=" + target.app().today + "&fields=" + LIST_FIELDS);
+        }
+    },
+    TASKS_BY_PRIORITY(2) {
+        @Override
+        HttpRequest.Builder request(Target target, SplittableRandom random) {
+            return target.get("/api/tasks/priority/HIGH?fields=" + LIST_FIELDS);
+        }
+    },
+    QUERY_BY_STAFF(8) {
+        @Override
+        HttpRequest.Builder request(Target target, SplittableRandom random) {
+            return target.get("/api/tasks/query?status=ACTIVE&staffId=" + pick(target.app().staffIds, random)
+                              + "&fields=" + LIST_FIELDS);
+        }
+    },
+    CREATE_TASK(10) {
+        @Override
+        HttpRequest.Builder request(Target target, SplittableRandom random) {
+            String body = "{\"title\":\"Load test task\",\"priority\":\"MEDIUM\",\"assignedStaffId\":\""
+                + pick(target.app().staffIds, random) + "\",\"startDate\":\"" + target.app().today
+                + "\",\"dueDate\":\"" + target.app().today.plusDays(3) + "\",\"createdBy\":\"load\","
+                + "\"customerReference\":\"" + pick(target.app().customerReferences, random) + "\"}";
+            return target.post("/api/tasks", body);
+        }
+    },
+    ADD_COMMENT(10) {
+        @Override
+        HttpRequest.Builder request(Target target, SplittableRandom random) {
+            return target.post("/api/tasks/" + pick(target.app().taskIds, random) + "/comments",
+                               "{\"content\":\"Checked on site\",\"userId\":\"load\",\"userName\":\"Load Test\"}");
+        }
+    },
+    REASSIGN_BY_REFERENCE(5) {
+        @Override
+        HttpRequest.Builder request(Target target, SplittableRandom random) {
+            return target.post("/api/tasks/assign-by-ref?customerReference=" + pick(target.app().customerReferences, random)
+                               + "&newStaffId=" + pick(target.app().staffIds, random) + "&updatedBy=load", "");
+        }
+    },
+    LIST_STAFF(5) {
+        @Override
+        HttpRequest.Builder request(Target target, SplittableRandom random) {
+            return target.get("/api/staff");
+        }
+    },
+    SEARCH_STAFF(10) {
+        @Override
+        HttpRequest.Builder request(Target target, SplittableRandom random) {
+            return target.get("/api/staff?q=bench&department="
+                              + SeededApplication.DEPARTMENTS[random.nextInt(SeededApplication.DEPARTMENTS.length)]);
+        }
+    },
+    GET_STAFF(8) {
+        @Override
+        HttpRequest.Builder request(Target target, SplittableRandom random) {
+            return target.get("/api/staff/" + pick(target.app().staffIds, random));
+        }
+    },
+    /** Goes through GlobalExceptionHandler; its 404 counts as success */
+    TASK_NOT_FOUND(2) {
+        @Override
+        HttpRequest.Builder request(Target target, SplittableRandom random) {
+            return target.get("/api/tasks/missing-" + random.nextInt(1_000_000));
+        }
+
+        @Override
+        boolean succeeded(int status) {
+            return status == 404;
+        }
+    };
+
+    private static final String LIST_FIELDS = "id,title,status,priority,assignedStaffId,startDate,dueDate";
+
+    private final int defaultWeight;
+
+    LoadEndpoint(int defaultWeight) {
+        this.defaultWeight = defaultWeight;
+    }
+
+    int defaultWeight() {
+        return defaultWeight;
+    }
+
+    /**
+     * Name used in the mix and the report, e.g. {@code get-task}
+     */
+    String label() {
+        return name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    abstract HttpRequest.Builder request(Target target, SplittableRandom random);
+
+    boolean succeeded(int status) {
+        return status >= 200 && status < 300;
+    }
+
+    static LoadEndpoint of(String label) {
+        for (LoadEndpoint endpoint : values()) {
+            if (endpoint.label().equals(label.trim())) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint '" + label + "' in load mix");
+    }
+
+    private static String pick(List<String> values, SplittableRandom random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    /**
+     * The application under load and its base URI
+     */
+    record Target(SeededApplication app, URI baseUri) {
+        HttpRequest.Builder get(String path) {
+            return HttpRequest.newBuilder(baseUri.resolve(path)).header("Accept", "application/json").GET();
+        }
+
+        HttpRequest.Builder post(String path, String json) {
+            return HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Accept", "application/json")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        }
+    }
+}
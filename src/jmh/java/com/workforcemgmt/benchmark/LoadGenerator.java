@@ -0,0 +1,150 @@
+package com.workforcemgmt.benchmark;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: requests arrive as a Poisson process at a fixed mean rate and are
+ * sent without waiting for earlier responses, the way independent clients behave. Latency is
+ * measured from each request's scheduled arrival rather than from when it was actually sent, so
+ * a stalled server or a late dispatcher shows up in the histograms instead of silently lowering
+ * the offered load (coordinated omission). Service time, from the actual send, is kept alongside.
+ */
+final class LoadGenerator {
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final HttpClient client;
+    private final LoadEndpoint.Target target;
+    private final LoadEndpoint[] endpoints;
+    private final int[] cumulativeWeights;
+    private final double rate;
+    private final Duration timeout;
+    private final SplittableRandom random;
+
+    LoadGenerator(HttpClient client, LoadEndpoint.Target target, Map<LoadEndpoint, Integer> mix, double rate,
+                  Duration timeout, long seed) {
+        this.client = client;
+        this.target = target;
+        this.endpoints = mix.keySet().toArray(LoadEndpoint[]::new);
+        this.cumulativeWeights = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += mix.get(endpoints[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Load mix has no weight");
+        }
+        this.rate = rate;
+        this.timeout = timeout;
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Offer load for warmup plus duration and return what was observed during the duration.
+     * Requests still outstanding at the end are awaited for up to the request timeout.
+     */
+    Map<LoadEndpoint, EndpointStats> run(Duration warmup, Duration duration) throws InterruptedException {
+        Map<LoadEndpoint, EndpointStats> stats = new EnumMap<>(LoadEndpoint.class);
+        for (LoadEndpoint endpoint : endpoints) {
+            stats.put(endpoint, new EndpointStats());
+        }
+        AtomicLong outstanding = new AtomicLong();
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+
+        long intended = start;
+        while (true) {
+            // Exponential gaps give Poisson arrivals
+            intended += (long) (-Math.log(1 - random.nextDouble()) * meanIntervalNanos);
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            LoadEndpoint endpoint = pick();
+            HttpRequest request = endpoint.request(target, random).timeout(timeout).build();
+            EndpointStats endpointStats = intended >= measureFrom ? stats.get(endpoint) : null;
+            long scheduled = intended;
+            long sent = System.nanoTime();
+            outstanding.incrementAndGet();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                long completed = System.nanoTime();
+                if (endpointStats != null) {
+                    endpointStats.record(endpoint, scheduled, sent, completed, response, error);
+                }
+                outstanding.decrementAndGet();
+            });
+        }
+
+        long deadline = System.nanoTime() + timeout.toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (outstanding.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return stats;
+    }
+
+    private LoadEndpoint pick() {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    /**
+     * Observations of one endpoint, in microseconds
+     */
+    static final class EndpointStats {
+        final Histogram latency = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        final Histogram serviceTime = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+        final LongAdder errors = new LongAdder();
+        final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+        private void record(LoadEndpoint endpoint, long scheduled, long sent, long completed,
+                            HttpResponse<?> response, Throwable error) {
+            latency.recordValue(TimeUnit.NANOSECONDS.toMicros(completed - scheduled));
+            serviceTime.recordValue(TimeUnit.NANOSECONDS.toMicros(completed - sent));
+            String outcome;
+            if (response != null) {
+                outcome = Integer.toString(response.statusCode());
+                if (!endpoint.succeeded(response.statusCode())) {
+                    errors.increment();
+                }
+            } else {
+                outcome = timedOut(error) ? "timeout" : "io-error";
+                errors.increment();
+            }
+            outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+        }
+
+        private static boolean timedOut(Throwable error) {
+            for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+                if (cause instanceof HttpTimeoutException) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
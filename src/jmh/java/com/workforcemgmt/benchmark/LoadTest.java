@@ -0,0 +1,183 @@
+package com.workforcemgmt.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Macro-benchmark of the HTTP API: starts the application on a random port, seeds it as in
+ * {@link SeededApplication}, drives a weighted mix of {@link LoadEndpoint}s with a
+ * {@link LoadGenerator} and writes a JSON report with coordinated-omission-corrected latency
+ * percentiles and throughput per endpoint. Each endpoint's latency histogram is included in
+ * HdrHistogram's compressed Base64 form, so reports of different builds can be merged or compared
+ * at any percentile later. Configured through system properties:
+ * <ul>
+ *   <li>{@code load.storeSize} - tasks seeded before the run, default 10000</li>
+ *   <li>{@code load.rate} - mean requests per second offered, default 200</li>
+ *   <li>{@code load.warmup} - load offered before measuring, default 15s</li>
+ *   <li>{@code load.duration} - measured load, default 60s</li>
+ *   <li>{@code load.timeout} - per request timeout, default 10s</li>
+ *   <li>{@code load.mix} - endpoint weights such as {@code get-task=20,create-task=10}, default
+ *       the weights of {@link LoadEndpoint}</li>
+ *   <li>{@code load.seed} - seed of the arrival times and request choices, default 42</li>
+ *   <li>{@code load.result} - report file, default {@code load-report.json}</li>
+ * </ul>
+ */
+public final class LoadTest {
+
+    private LoadTest() {}
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int storeSize = Integer.parseInt(System.getProperty("load.storeSize", "10000"));
+        double rate = Double.parseDouble(System.getProperty("load.rate", "200"));
+        Duration warmup = DurationStyle.detectAndParse(System.getProperty("load.warmup", "15s"));
+        Duration duration = DurationStyle.detectAndParse(System.getProperty("load.duration", "60s"));
+        Duration timeout = DurationStyle.detectAndParse(System.getProperty("load.timeout", "10s"));
+        Map<LoadEndpoint, Integer> mix = parseMix(System.getProperty("load.mix", ""));
+        long seed = Long.parseLong(System.getProperty("load.seed", "42"));
+        Path result = Path.of(System.getProperty("load.result", "load-report.json"));
+
+        Map<LoadEndpoint, LoadGenerator.EndpointStats> stats;
+        Instant startedAt = Instant.now();
+        try (SeededApplication app = SeededApplication.start(WebApplicationType.SERVLET, storeSize, "--server.port=0")) {
+            HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+            LoadEndpoint.Target target = new LoadEndpoint.Target(app, URI.create("http://localhost:" + app.port()));
+            System.out.printf("Offering %.0f req/s for %ds after %ds of warmup against %d tasks%n",
+                              rate, duration.toSeconds(), warmup.toSeconds(), storeSize);
+            stats = new LoadGenerator(client, target, mix, rate, timeout, seed).run(warmup, duration);
+        }
+
+        Report report = report(startedAt, new Config(storeSize, rate, warmup.toSeconds(), duration.toSeconds(),
+                                                     timeout.toSeconds(), seed, labels(mix)), stats, duration);
+        if (result.getParent() != null) {
+            Files.createDirectories(result.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(result.toFile(), report);
+        print(report);
+        System.out.println("Report written to " + result);
+    }
+
+    private static Map<LoadEndpoint, Integer> parseMix(String mix) {
+        Map<LoadEndpoint, Integer> weights = new LinkedHashMap<>();
+        if (mix.isBlank()) {
+            for (LoadEndpoint endpoint : LoadEndpoint.values()) {
+                weights.put(endpoint, endpoint.defaultWeight());
+            }
+            return weights;
+        }
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split("=", 2);
+            int weight = parts.length == 2 ? Integer.parseInt(parts[1].trim()) : 1;
+            if (weight > 0) {
+                weights.put(LoadEndpoint.of(parts[0]), weight);
+            }
+        }
+        return weights;
+    }
+
+    private static Map<String, Integer> labels(Map<LoadEndpoint, Integer> mix) {
+        Map<String, Integer> labels = new LinkedHashMap<>();
+        mix.forEach((endpoint, weight) -> labels.put(endpoint.label(), weight));
+        return labels;
+    }
+
+    private static Report report(Instant startedAt, Config config, Map<LoadEndpoint, LoadGenerator.EndpointStats> stats,
+                                 Duration duration) {
+        double seconds = duration.toNanos() / 1e9;
+        Histogram overall = new Histogram(3);
+        long errors = 0;
+        Map<String, EndpointReport> endpoints = new LinkedHashMap<>();
+        for (Map.Entry<LoadEndpoint, LoadGenerator.EndpointStats> entry : stats.entrySet()) {
+            LoadGenerator.EndpointStats endpointStats = entry.getValue();
+            Histogram latency = endpointStats.latency.copy();
+            overall.add(latency);
+            errors += endpointStats.errors.sum();
+            Map<String, Long> outcomes = new TreeMap<>();
+            endpointStats.outcomes.forEach((outcome, count) -> outcomes.put(outcome, count.sum()));
+            endpoints.put(entry.getKey().label(), new EndpointReport(
+                latency.getTotalCount(),
+                endpointStats.errors.sum(),
+                latency.getTotalCount() / seconds,
+                outcomes,
+                Percentiles.of(latency),
+                Percentiles.of(endpointStats.serviceTime.copy()),
+                encode(latency)));
+        }
+        Summary summary = new Summary(overall.getTotalCount(), errors, config.rate(),
+                                      overall.getTotalCount() / seconds, Percentiles.of(overall));
+        return new Report(startedAt.toString(), Runtime.version().toString(),
+                          Runtime.getRuntime().availableProcessors(), config, summary, endpoints);
+    }
+
+    private static String encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+
+    private static void print(Report report) {
+        System.out.printf("%-22s %9s %7s %9s %9s %9s %9s %9s%n",
+                          "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        report.endpoints().forEach((label, endpoint) -> printRow(label, endpoint.requests(), endpoint.errors(),
+                                                                 endpoint.throughput(), endpoint.latencyMs()));
+        printRow("total", report.summary().requests(), report.summary().errors(), report.summary().throughput(),
+                 report.summary().latencyMs());
+    }
+
+    private static void printRow(String label, long requests, long errors, double throughput, Percentiles latency) {
+        System.out.printf("%-22s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", label, requests, errors, throughput,
+                          latency.p50(), latency.p99(), latency.p999(), latency.max());
+    }
+
+    record Report(String startedAt, String javaVersion, int availableProcessors, Config config, Summary summary,
+                  Map<String, EndpointReport> endpoints) {}
+
+    record Config(int storeSize, double rate, long warmupSeconds, long durationSeconds, long timeoutSeconds,
+                  long seed, Map<String, Integer> mix) {}
+
+    record Summary(long requests, long errors, double offeredRate, double throughput, Percentiles latencyMs) {}
+
+    record EndpointReport(long requests, long errors, double throughput, Map<String, Long> outcomes,
+                          Percentiles latencyMs, Percentiles serviceTimeMs, String latencyHistogram) {}
+
+    /**
+     * Percentiles in milliseconds of a histogram recorded in microseconds
+     */
+    record Percentiles(double p50, double p90, double p99, double p999, double max, double mean) {
+        static Percentiles of(Histogram histogram) {
+            if (histogram.getTotalCount() == 0) {
+                return new Percentiles(0, 0, 0, 0, 0, 0);
+            }
+            return new Percentiles(
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()),
+                histogram.getMean() / 1000);
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+}
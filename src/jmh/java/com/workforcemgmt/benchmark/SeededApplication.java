@@ -0,0 +1,139 @@
+package com.workforcemgmt.benchmark;
+
+import com.workforcemgmt.WorkforcemgmtApplication;
+import com.workforcemgmt.dto.CreateTaskRequest;
+import com.workforcemgmt.mapper.TaskMapper;
+import com.workforcemgmt.model.Priority;
+import com.workforcemgmt.model.Staff;
+import com.workforcemgmt.model.Task;
+import com.workforcemgmt.model.TaskStatus;
+import com.workforcemgmt.service.StaffService;
+import com.workforcemgmt.service.TaskService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+/**
+ * The application seeded with a reproducible dataset, shared by the JMH benchmarks and the load
+ * test: {@link #STAFF_COUNT} staff over four departments and {@code storeSize} tasks spread over
+ * a year around today, four per customer. Tasks that started more than two weeks ago are
+ * completed, so the smart daily view sees a realistic mix of open and closed work.
+ */
+final class SeededApplication implements AutoCloseable {
+    static final int STAFF_COUNT = 200;
+    static final String[] DEPARTMENTS = {"Sales", "Operations", "Support", "Logistics"};
+    static final String CREATED_BY = "bench";
+    private static final int TASKS_PER_CUSTOMER = 4;
+    private static final int SEED_BATCH_SIZE = 10_000;
+    private static final int SPREAD_DAYS = 365;
+
+    final ConfigurableApplicationContext context;
+    final TaskService taskService;
+    final StaffService staffService;
+    final TaskMapper taskMapper;
+    final LocalDate today = LocalDate.now();
+    final List<String> staffIds;
+    final List<String> taskIds;
+    /** Customers with an active task, which can therefore be reassigned */
+    final List<String> customerReferences;
+
+    private SeededApplication(ConfigurableApplicationContext context, int storeSize) {
+        this.context = context;
+        this.taskService = context.getBean(TaskService.class);
+        this.staffService = context.getBean(StaffService.class);
+        this.taskMapper = context.getBean(TaskMapper.class);
+        this.staffIds = seedStaff();
+
+        seedTasks(storeSize);
+        LocalDate closedBefore = today.minusDays(14);
+        List<String> ids = new ArrayList<>(storeSize);
+        Set<String> references = new LinkedHashSet<>();
+        for (Task task : taskService.getAllTasks()) {
+            if (!CREATED_BY.equals(task.getCreatedBy())) {
+                continue;
+            }
+            ids.add(task.getId());
+            if (task.getStartDate().isBefore(closedBefore)) {
+                taskService.updateTaskStatus(task.getId(), TaskStatus.COMPLETED, CREATED_BY);
+            } else {
+                references.add(task.getCustomerReference());
+            }
+        }
+        this.taskIds = List.copyOf(ids);
+        this.customerReferences = List.copyOf(references);
+    }
+
+    /**
+     * Start the application and seed it. The escalation sweep is off so that nothing changes
+     * tasks behind the caller's back.
+     *
+     * @param arguments further command line arguments, which take precedence over application.properties
+     */
+    static SeededApplication start(WebApplicationType webApplicationType, int storeSize, String... arguments) {
+        String[] defaults = {
+            "--spring.main.banner-mode=off",
+            "--logging.level.com.workforcemgmt=WARN",
+            "--workforce.escalation.enabled=false"
+        };
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(WorkforcemgmtApplication.class)
+            .web(webApplicationType)
+            .run(Stream.concat(Stream.of(defaults), Stream.of(arguments)).toArray(String[]::new));
+        return new SeededApplication(context, storeSize);
+    }
+
+    /**
+     * Port of the embedded server, for applications started as web applications
+     */
+    int port() {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    private List<String> seedStaff() {
+        List<Staff> members = new ArrayList<>(STAFF_COUNT);
+        for (int i = 0; i < STAFF_COUNT; i++) {
+            members.add(new Staff("bench-staff-" + i, "Bench Staff " + i, "bench" + i + "@company.com",
+                                  DEPARTMENTS[i % DEPARTMENTS.length]));
+        }
+        staffService.importStaff(members);
+        return members.stream().map(Staff::getId).toList();
+    }
+
+    private void seedTasks(int storeSize) {
+        SplittableRandom random = new SplittableRandom(42);
+        Priority[] priorities = Priority.values();
+        int customers = Math.max(1, storeSize / TASKS_PER_CUSTOMER);
+        List<CreateTaskRequest> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < storeSize; i++) {
+            LocalDate startDate = today.plusDays(random.nextInt(SPREAD_DAYS) - SPREAD_DAYS / 2);
+            batch.add(new CreateTaskRequest(
+                "Task " + i,
+                "Benchmark task " + i,
+                priorities[random.nextInt(priorities.length)],
+                staffIds.get(random.nextInt(staffIds.size())),
+                startDate,
+                startDate.plusDays(1 + random.nextInt(14)),
+                CREATED_BY,
+                "CUST-" + (i % customers)));
+            if (batch.size() == SEED_BATCH_SIZE || i == storeSize - 1) {
+                taskService.importTasks(batch, (position, e) -> {
+                    throw new IllegalStateException("Could not seed task " + position, e);
+                });
+                batch.clear();
+            }
+        }
+    }
+}
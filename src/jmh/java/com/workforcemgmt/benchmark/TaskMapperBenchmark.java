@@ -0,0 +1,73 @@
+package com.workforcemgmt.benchmark;
+
+import com.workforcemgmt.dto.TaskDetailsDto;
+import com.workforcemgmt.dto.TaskDto;
+import com.workforcemgmt.model.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping tasks to their DTOs, including the staff name lookup. Independent of the store
+ * size, so it runs against one small {@link SeededApplication} instead of every
+ * {@link WorkforceState#storeSize}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskMapperBenchmark {
+    private static final int PAGE_SIZE = 100;
+    private static final int COMMENTS = 10;
+
+    @State(Scope.Benchmark)
+    public static class Page {
+        SeededApplication app;
+        List<Task> tasks;
+        Task detailed;
+
+        @Setup(Level.Trial)
+        public void start() {
+            app = SeededApplication.start(WebApplicationType.NONE, PAGE_SIZE);
+            tasks = app.taskIds.stream().map(app.taskService::getTaskById).toList();
+            detailed = tasks.get(0);
+            for (int i = 0; i < COMMENTS; i++) {
+                app.taskService.addCommentToTask(detailed.getId(), "bench", "Benchmark", "Comment " + i);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            app.close();
+        }
+    }
+
+    @Benchmark
+    public TaskDto taskToTaskDto(Page page) {
+        return page.app.taskMapper.taskToTaskDto(page.detailed);
+    }
+
+    @Benchmark
+    public List<TaskDto> tasksToTaskDtos(Page page) {
+        return page.app.taskMapper.tasksToTaskDtos(page.tasks);
+    }
+
+    @Benchmark
+    public TaskDetailsDto taskToTaskDetailsDto(Page page) {
+        return page.app.taskMapper.taskToTaskDetailsDto(page.detailed);
+    }
+}
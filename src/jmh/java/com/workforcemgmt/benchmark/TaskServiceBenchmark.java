@@ -0,0 +1,100 @@
+package com.workforcemgmt.benchmark;
+
+import com.workforcemgmt.dto.CreateTaskRequest;
+import com.workforcemgmt.model.AssignmentStrategy;
+import com.workforcemgmt.model.Priority;
+import com.workforcemgmt.model.Task;
+import com.workforcemgmt.model.TaskMutation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the main {@code TaskService} commands and queries against a store of
+ * {@link WorkforceState#storeSize} tasks. Mutating benchmarks add to the store as they run, as
+ * the live service does; the store is rebuilt for every trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+    /**
+     * Per-thread random choice of tasks, customers and staff, so threads spread over the store
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private final SplittableRandom random = new SplittableRandom(Thread.currentThread().getId());
+        private final Priority[] priorities = Priority.values();
+
+        String pick(List<String> values) {
+            return values.get(random.nextInt(values.size()));
+        }
+
+        Priority priority() {
+            return priorities[random.nextInt(priorities.length)];
+        }
+
+        String department() {
+            return SeededApplication.DEPARTMENTS[random.nextInt(SeededApplication.DEPARTMENTS.length)];
+        }
+    }
+
+    @Benchmark
+    public TaskMutation createTask(WorkforceState state, Cursor cursor) {
+        CreateTaskRequest request = new CreateTaskRequest("Benchmark task", "Created by the benchmark",
+            cursor.priority(), cursor.pick(state.app.staffIds), state.app.today, state.app.today.plusDays(3), "bench",
+            cursor.pick(state.app.customerReferences));
+        return state.app.taskService.createTask(request);
+    }
+
+    @Benchmark
+    public TaskMutation createTaskLeastLoaded(WorkforceState state, Cursor cursor) {
+        CreateTaskRequest request = new CreateTaskRequest("Benchmark task", "Created by the benchmark",
+            cursor.priority(), null, state.app.today, state.app.today.plusDays(3), "bench",
+            cursor.pick(state.app.customerReferences));
+        request.setStrategy(AssignmentStrategy.LEAST_LOADED);
+        request.setDepartment(cursor.department());
+        return state.app.taskService.createTask(request);
+    }
+
+    @Benchmark
+    public List<Task> getTasksByDateRange(WorkforceState state) {
+        return state.app.taskService.getTasksByDateRange(state.app.today, state.app.today.plusDays(6));
+    }
+
+    @Benchmark
+    public List<Task> getSmartDailyTasks(WorkforceState state) {
+        return state.app.taskService.getSmartDailyTasks(state.app.today, state.app.today);
+    }
+
+    @Benchmark
+    public List<Task> getTasksByPriority(WorkforceState state) {
+        return state.app.taskService.getTasksByPriority(Priority.HIGH);
+    }
+
+    @Benchmark
+    public TaskMutation reassignTaskByCustomerReference(WorkforceState state, Cursor cursor) {
+        // The replacement task stays active, so every customer can be reassigned again
+        return state.app.taskService.reassignTaskByCustomerReference(cursor.pick(state.app.customerReferences),
+                                                                  cursor.pick(state.app.staffIds), "bench");
+    }
+
+    @Benchmark
+    public TaskMutation addCommentToTask(WorkforceState state, Cursor cursor) {
+        return state.app.taskService.addCommentToTask(cursor.pick(state.app.taskIds), "bench", "Benchmark",
+                                                  "Checked by the benchmark");
+    }
+}
@@ -0,0 +1,33 @@
+package com.workforcemgmt.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+
+/**
+ * The application without its web server, seeded with {@code storeSize} tasks as described in
+ * {@link SeededApplication}. Shared by all benchmark threads of a trial.
+ */
+@State(Scope.Benchmark)
+public class WorkforceState {
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int storeSize;
+
+    SeededApplication app;
+
+    @Setup(Level.Trial)
+    public void start() {
+        // Measure the queries themselves, not the micro cache
+        app = SeededApplication.start(WebApplicationType.NONE, storeSize, "--workforce.query.micro-cache-ttl=0s");
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        app.close();
+    }
+}
@@ -0,0 +1,392 @@
+package com.workforcemgmt.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.util.*;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzip/deflate response compression for bodies above a size threshold.
+ *
+ * Tomcat's built-in compression skips every response carrying a strong ETag, which is all of our
+ * task endpoints. This filter compresses them anyway and keeps the ETag strong by appending the
+ * coding ("v3" becomes "v3-gzip"), stripping the suffix again from If-None-Match and If-Match so
+ * controllers only ever see their own tags. The first bytes are buffered until the threshold is
+ * reached; a flush before that, or an asynchronous response, is sent uncompressed. A 304 repeats
+ * the tag in the form the client sent it, so a stored representation that was too small to
+ * compress keeps its plain tag.
+ */
+@Component
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+    private final boolean enabled;
+    private final int minResponseSize;
+    private final List<MediaType> mimeTypes;
+    private final List<String> encodings;
+
+    public ResponseCompressionFilter(
+            @Value("${workforce.compression.enabled:true}") boolean enabled,
+            @Value("${workforce.compression.min-response-size:2048}") int minResponseSize,
+            @Value("${workforce.compression.mime-types:application/json,application/cbor,application/x-jackson-smile,text/csv,text/plain}") String mimeTypes,
+            @Value("${workforce.compression.encodings:gzip,deflate}") String encodings) {
+        this.enabled = enabled;
+        this.minResponseSize = minResponseSize;
+        this.mimeTypes = MediaType.parseMediaTypes(mimeTypes);
+        this.encodings = Arrays.stream(encodings.split(",")).map(String::trim).filter(e -> !e.isEmpty()).toList();
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String encoding = enabled ? negotiateEncoding(request.getHeader(HttpHeaders.ACCEPT_ENCODING)) : null;
+        if (encoding == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        CompressingResponse compressingResponse =
+            new CompressingResponse(response, encoding, request.getHeader(HttpHeaders.IF_NONE_MATCH));
+        filterChain.doFilter(new EncodedETagRequest(request, encoding), compressingResponse);
+        if (request.isAsyncStarted()) {
+            // Streams written after the handler returns are never compressed
+            compressingResponse.passThrough();
+        } else {
+            compressingResponse.finish();
+        }
+    }
+
+    /**
+     * The server-preferred coding among those the client accepts with a non-zero quality value
+     */
+    private String negotiateEncoding(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        Map<String, Double> accepted = new HashMap<>();
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            double quality = 1.0;
+            for (int i = 1; i < tokens.length; i++) {
+                String parameter = tokens[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            accepted.put(tokens[0].trim().toLowerCase(Locale.ROOT), quality);
+        }
+
+        String best = null;
+        double bestQuality = 0;
+        for (String encoding : encodings) {
+            double quality = accepted.getOrDefault(encoding, accepted.getOrDefault("*", 0.0));
+            if (quality > bestQuality) {
+                best = encoding;
+                bestQuality = quality;
+            }
+        }
+        return best;
+    }
+
+    private boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        return mimeTypes.stream().anyMatch(type -> type.includes(mediaType));
+    }
+
+    /**
+     * Hides the coding suffix this filter added to ETags from everything downstream
+     */
+    private static final class EncodedETagRequest extends HttpServletRequestWrapper {
+        private final String suffix;
+
+        EncodedETagRequest(HttpServletRequest request, String encoding) {
+            super(request);
+            this.suffix = "-" + encoding + "\"";
+        }
+
+        @Override
+        public String getHeader(String name) {
+            String value = super.getHeader(name);
+            return isConditional(name) && value != null ? value.replace(suffix, "\"") : value;
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            Enumeration<String> values = super.getHeaders(name);
+            if (!isConditional(name) || values == null) {
+                return values;
+            }
+            List<String> stripped = new ArrayList<>();
+            while (values.hasMoreElements()) {
+                stripped.add(values.nextElement().replace(suffix, "\""));
+            }
+            return Collections.enumeration(stripped);
+        }
+
+        private static boolean isConditional(String name) {
+            return HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name) || HttpHeaders.IF_MATCH.equalsIgnoreCase(name);
+        }
+    }
+
+    private enum Mode { BUFFERING, COMPRESSING, PASS_THROUGH }
+
+    /**
+     * Buffers the body until it is known to be large enough, then either streams it through a
+     * compressor or writes it unchanged. Content-Length is held back until that decision.
+     */
+    private final class CompressingResponse extends HttpServletResponseWrapper {
+        private final String encoding;
+        private final String ifNoneMatch;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private Mode mode = Mode.BUFFERING;
+        private long contentLength = -1;
+        private OutputStream compressor;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        CompressingResponse(HttpServletResponse response, String encoding, String ifNoneMatch) {
+            super(response);
+            this.encoding = encoding;
+            this.ifNoneMatch = ifNoneMatch;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (outputStream == null) {
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) throws IOException {
+                        CompressingResponse.this.write(new byte[] {(byte) b}, 0, 1);
+                    }
+
+                    @Override
+                    public void write(@NonNull byte[] b, int off, int len) throws IOException {
+                        CompressingResponse.this.write(b, off, len);
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        CompressingResponse.this.flush();
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        throw new UnsupportedOperationException("Non-blocking writes are not supported while compressing");
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), Charset.forName(getCharacterEncoding())));
+            }
+            return writer;
+        }
+
+        @Override
+        public void setContentLength(int len) {
+            setContentLengthLong(len);
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            if (mode == Mode.BUFFERING) {
+                contentLength = len;
+            } else if (mode == Mode.PASS_THROUGH) {
+                super.setContentLengthLong(len);
+            }
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(Long.parseLong(value));
+            } else {
+                super.setHeader(name, value);
+            }
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                setContentLengthLong(Long.parseLong(value));
+            } else {
+                super.addHeader(name, value);
+            }
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            flush();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void resetBuffer() {
+            if (mode == Mode.BUFFERING) {
+                buffer.reset();
+            }
+            super.resetBuffer();
+        }
+
+        @Override
+        public void reset() {
+            if (mode == Mode.BUFFERING) {
+                buffer.reset();
+                contentLength = -1;
+            }
+            super.reset();
+        }
+
+        void write(byte[] b, int off, int len) throws IOException {
+            if (mode == Mode.BUFFERING) {
+                if (buffer.size() + len < minResponseSize) {
+                    buffer.write(b, off, len);
+                    return;
+                }
+                decide(true);
+            }
+            if (mode == Mode.COMPRESSING) {
+                compressor.write(b, off, len);
+            } else {
+                getResponse().getOutputStream().write(b, off, len);
+            }
+        }
+
+        void flush() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (mode == Mode.BUFFERING) {
+                // An early flush means the client wants the bytes now, e.g. a stream of events
+                decide(false);
+            }
+            if (mode == Mode.COMPRESSING) {
+                compressor.flush();
+            } else {
+                getResponse().getOutputStream().flush();
+            }
+        }
+
+        void passThrough() throws IOException {
+            if (mode == Mode.BUFFERING) {
+                decide(false);
+            }
+        }
+
+        void finish() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+            if (mode == Mode.BUFFERING) {
+                decide(false);
+            }
+            if (mode == Mode.COMPRESSING) {
+                compressor.close();
+            }
+        }
+
+        private void decide(boolean largeEnough) throws IOException {
+            boolean compress = largeEnough
+                && !isCommitted()
+                && getHeader(HttpHeaders.CONTENT_ENCODING) == null
+                && getStatus() != HttpServletResponse.SC_NO_CONTENT
+                && getStatus() != HttpServletResponse.SC_NOT_MODIFIED
+                && isCompressible(getContentType());
+            if (compress) {
+                mode = Mode.COMPRESSING;
+                super.setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+                appendCodingToETag();
+                OutputStream target = new NonClosingOutputStream(getResponse().getOutputStream());
+                compressor = "gzip".equals(encoding)
+                    ? new GZIPOutputStream(target, 8192, true)
+                    : new DeflaterOutputStream(target, true);
+                buffer.writeTo(compressor);
+            } else {
+                mode = Mode.PASS_THROUGH;
+                if (getStatus() == HttpServletResponse.SC_NOT_MODIFIED && clientHoldsEncodedTag()) {
+                    // Keep the tag consistent with the one the client holds for the encoded representation
+                    appendCodingToETag();
+                }
+                if (contentLength >= 0) {
+                    super.setContentLengthLong(contentLength);
+                }
+                buffer.writeTo(getResponse().getOutputStream());
+            }
+            buffer.reset();
+        }
+
+        private void appendCodingToETag() {
+            String eTag = encodedETag();
+            if (eTag != null) {
+                super.setHeader(HttpHeaders.ETAG, eTag);
+            }
+        }
+
+        /**
+         * Whether the validator that matched was the one sent with a compressed body. Bodies below
+         * the threshold went out with the plain tag, and their 304 must carry that tag too.
+         */
+        private boolean clientHoldsEncodedTag() {
+            String eTag = encodedETag();
+            return eTag != null && ifNoneMatch != null && ifNoneMatch.contains(eTag);
+        }
+
+        private String encodedETag() {
+            String eTag = getHeader(HttpHeaders.ETAG);
+            if (eTag == null || !eTag.startsWith("\"") || !eTag.endsWith("\"")) {
+                return null;
+            }
+            return eTag.substring(0, eTag.length() - 1) + "-" + encoding + "\"";
+        }
+    }
+
+    /**
+     * Lets the compressor write its trailer without closing the container's stream
+     */
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(@NonNull byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.workforcemgmt.config;
+
+import com.workforcemgmt.service.StaffService;
+import com.workforcemgmt.service.TaskService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Times every public method of {@link TaskService} and {@link StaffService} as
+ * {@code workforce.service.calls}, tagged with the service, method, outcome and exception. Timers
+ * publish a percentile histogram, so percentiles can be aggregated across instances by the
+ * monitoring backend instead of being computed per instance.
+ *
+ * The services are wrapped in a class proxy that looks up the method's timer in a map built on
+ * first use, so a timed call costs two clock reads and one histogram update. Calls a service makes
+ * to its own methods are not timed separately. Accessors that run once per rendered task are
+ * excluded by default; their timers would cost more than the calls they measure.
+ */
+@Component
+public class ServiceTimers implements BeanPostProcessor {
+    private static final Set<Class<?>> TIMED_SERVICES = Set.of(TaskService.class, StaffService.class);
+    private static final Duration MINIMUM_EXPECTED = Duration.ofNanos(500);
+    private static final Duration MAXIMUM_EXPECTED = Duration.ofSeconds(30);
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final boolean enabled;
+    private final boolean percentileHistogram;
+    private final Set<String> excluded;
+
+    public ServiceTimers(ObjectProvider<MeterRegistry> meterRegistry,
+                         @Value("${workforce.metrics.service-timers.enabled:true}") boolean enabled,
+                         @Value("${workforce.metrics.service-timers.percentile-histogram:true}") boolean percentileHistogram,
+                         @Value("${workforce.metrics.service-timers.exclude:StaffService.getDirectory,TaskService.getModificationCount}") String excluded) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.percentileHistogram = percentileHistogram;
+        this.excluded = Arrays.stream(excluded.split(",")).map(String::trim).filter(e -> !e.isEmpty())
+            .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+        Class<?> service = AopUtils.getTargetClass(bean);
+        if (!enabled || !TIMED_SERVICES.contains(service)) {
+            return bean;
+        }
+        TimingInterceptor interceptor = new TimingInterceptor(service.getSimpleName());
+        if (bean instanceof Advised advised) {
+            // Already proxied, e.g. for flight recorder events
+            advised.addAdvice(interceptor);
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(interceptor);
+        return proxyFactory.getProxy(bean.getClass().getClassLoader());
+    }
+
+    private final class TimingInterceptor implements MethodInterceptor {
+        private final String service;
+        private final Map<Method, MethodTimer> timers = new ConcurrentHashMap<>();
+
+        TimingInterceptor(String service) {
+            this.service = service;
+        }
+
+        @Override
+        public Object invoke(@NonNull MethodInvocation invocation) throws Throwable {
+            Method method = invocation.getMethod();
+            MethodTimer timer = timers.get(method);
+            if (timer == null) {
+                timer = timers.computeIfAbsent(method, this::timerOf);
+            }
+            if (timer.success() == null) {
+                return invocation.proceed();
+            }
+            long started = System.nanoTime();
+            try {
+                Object result = invocation.proceed();
+                timer.success().record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                return result;
+            } catch (Throwable e) {
+                // Failures are rare; the registry returns the already registered timer
+                timer(timer.method(), "error", e.getClass().getSimpleName())
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                throw e;
+            }
+        }
+
+        private MethodTimer timerOf(Method method) {
+            boolean timed = Modifier.isPublic(method.getModifiers())
+                && method.getDeclaringClass() != Object.class
+                && !excluded.contains(service + "." + method.getName());
+            return new MethodTimer(method.getName(), timed ? timer(method.getName(), "success", "none") : null);
+        }
+
+        private Timer timer(String method, String outcome, String exception) {
+            return Timer.builder("workforce.service.calls")
+                .description("Service method calls")
+                .tag("service", service)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .publishPercentileHistogram(percentileHistogram)
+                .minimumExpectedValue(MINIMUM_EXPECTED)
+                .maximumExpectedValue(MAXIMUM_EXPECTED)
+                .register(meterRegistry.getObject());
+        }
+    }
+
+    /**
+     * Timer of a method's successful calls, null for methods that are not timed
+     */
+    private record MethodTimer(String method, Timer success) {}
+}
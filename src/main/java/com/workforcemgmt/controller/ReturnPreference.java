@@ -0,0 +1,47 @@
+package com.workforcemgmt.controller;
+
+import java.util.Locale;
+
+/**
+ * How much of a mutated task to send back, requested with the Prefer header (RFC 7240).
+ * DELTA is an extension carrying only what the mutation created plus the new version.
+ */
+public enum ReturnPreference {
+    MINIMAL("minimal"),
+    DELTA("delta"),
+    REPRESENTATION("representation");
+
+    private final String token;
+
+    ReturnPreference(String token) {
+        this.token = token;
+    }
+
+    /**
+     * Value for the Preference-Applied response header
+     */
+    public String applied() {
+        return "return=" + token;
+    }
+
+    /**
+     * The return preference in a Prefer header, or null when absent or not recognised
+     */
+    public static ReturnPreference parse(String prefer) {
+        if (prefer == null) {
+            return null;
+        }
+        for (String preference : prefer.split("[,;]")) {
+            String[] pair = preference.trim().split("=", 2);
+            if (pair.length == 2 && pair[0].trim().equalsIgnoreCase("return")) {
+                String value = pair[1].trim().replace("\"", "").toLowerCase(Locale.ROOT);
+                for (ReturnPreference candidate : values()) {
+                    if (candidate.token.equals(value)) {
+                        return candidate;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -1,48 +1,101 @@
 package com.workforcemgmt.controller;
 
+import com.workforcemgmt.dto.HandoverResultDto;
+import com.workforcemgmt.dto.ImportEventDto;
 import com.workforcemgmt.dto.StaffDto;
+import com.workforcemgmt.mapper.ImportFormat;
+import com.workforcemgmt.mapper.ProjectionWriter;
+import com.workforcemgmt.mapper.ResponseFormat;
+import com.workforcemgmt.mapper.StaffMapper;
 import com.workforcemgmt.model.Staff;
+import com.workforcemgmt.service.ImportService;
+import com.workforcemgmt.service.StaffDirectory;
 import com.workforcemgmt.service.StaffService;
+import com.workforcemgmt.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/staff")
 @Tag(name = "Staff Management", description = "APIs for managing workforce staff members and their information")
 public class StaffController {
 
+    private static final String FIELDS_DESCRIPTION = "Comma-separated fields to return, e.g. id,name";
+
     private final StaffService staffService;
+    private final StaffMapper staffMapper;
+    private final ProjectionWriter projectionWriter;
+    private final TaskService taskService;
+    private final ImportService importService;
 
-    public StaffController(StaffService staffService) {
+    public StaffController(StaffService staffService, StaffMapper staffMapper, ProjectionWriter projectionWriter,
+                           TaskService taskService, ImportService importService) {
         this.staffService = staffService;
+        this.staffMapper = staffMapper;
+        this.projectionWriter = projectionWriter;
+        this.taskService = taskService;
+        this.importService = importService;
     }
 
     @GetMapping
-    @Operation(summary = "Get all staff members")
+    @Operation(summary = "Get all staff members",
+               description = "Optionally filtered by department and by a type-ahead query matching the start of a name " +
+                             "word, the full name or the email address")
     @ApiResponse(responseCode = "200", description = "Staff list retrieved successfully")
-    public ResponseEntity<List<StaffDto>> getAllStaff() {
-        List<Staff> staff = staffService.getAllStaff();
-        List<StaffDto> staffDtos = staff.stream()
-            .map(this::convertToDto)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(staffDtos);
+    @ApiResponse(responseCode = "304", description = "Staff unchanged since the ETag in If-None-Match")
+    public ResponseEntity<?> getAllStaff(
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) @Parameter(description = "Case-insensitive prefix of a name or email") String q,
+            @RequestParam(required = false) @Parameter(description = FIELDS_DESCRIPTION) String fields,
+            WebRequest webRequest) {
+        // One snapshot for the tag and the body, so they always agree
+        StaffDirectory directory = staffService.getDirectory();
+        ResponseFormat format = ResponseFormat.negotiate(webRequest);
+        String eTag = "\"s" + Long.toHexString(directory.version()) + format.getETagSuffix() + "\"";
+        if (webRequest.checkNotModified(eTag)) {
+            // checkNotModified has already written the ETag
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        if (fields != null) {
+            List<Staff> staff = directory.search(department, q);
+            return ResponseEntity.ok()
+                .eTag(eTag)
+                .varyBy(HttpHeaders.ACCEPT)
+                .contentType(format.getMediaType())
+                .body(projectionWriter.writeArray(staff, staffMapper.staffFields().select(fields), format));
+        }
+        return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(directory.searchDtos(department, q));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get staff member by ID")
     @ApiResponse(responseCode = "200", description = "Staff member retrieved successfully")
     @ApiResponse(responseCode = "404", description = "Staff member not found")
-    public ResponseEntity<StaffDto> getStaffById(@PathVariable String id) {
+    public ResponseEntity<?> getStaffById(@PathVariable String id,
+            @RequestParam(required = false) @Parameter(description = FIELDS_DESCRIPTION) String fields,
+            WebRequest webRequest) {
         Staff staff = staffService.getStaffById(id);
-        return ResponseEntity.ok(convertToDto(staff));
+        if (fields != null) {
+            ResponseFormat format = ResponseFormat.negotiate(webRequest);
+            return projected(projectionWriter.write(staff, staffMapper.staffFields().select(fields), format), format);
+        }
+        return ResponseEntity.ok(staffMapper.staffToStaffDto(staff));
     }
 
     @PostMapping
@@ -50,9 +103,26 @@ public class StaffController {
     @ApiResponse(responseCode = "201", description = "Staff member created successfully")
     @ApiResponse(responseCode = "400", description = "Invalid staff data")
     public ResponseEntity<StaffDto> createStaff(@Valid @RequestBody StaffDto staffDto) {
-        Staff staff = convertToEntity(staffDto);
+        Staff staff = staffMapper.staffDtoToStaff(staffDto);
         Staff createdStaff = staffService.createStaff(staff);
-        return ResponseEntity.status(HttpStatus.CREATED).body(convertToDto(createdStaff));
+        return ResponseEntity.status(HttpStatus.CREATED).body(staffMapper.staffToStaffDto(createdStaff));
+    }
+
+    @PostMapping("/import")
+    @Operation(summary = "Bulk import staff members",
+               description = "CSV with a header row naming the fields (id,name,email,department) or NDJSON, one staff member " +
+                             "per record. Records are validated and stored in parallel chunks; existing ids are replaced. " +
+                             "The response streams an NDJSON report: an error line per rejected record, a progress line " +
+                             "per chunk and a final summary.")
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(content = {
+        @Content(mediaType = ImportFormat.CSV_VALUE), @Content(mediaType = ImportFormat.NDJSON_VALUE)})
+    @ApiResponse(responseCode = "200", description = "Import report",
+                 content = @Content(mediaType = ImportFormat.NDJSON_VALUE, schema = @Schema(implementation = ImportEventDto.class)))
+    @ApiResponse(responseCode = "400", description = "Upload is neither CSV nor NDJSON")
+    public void importStaff(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ImportFormat format = ImportFormat.of(request.getContentType());
+        response.setContentType(ImportFormat.NDJSON_VALUE);
+        importService.importStaff(request.getReader(), format, response.getOutputStream());
     }
 
     @PutMapping("/{id}")
@@ -61,9 +131,9 @@ public class StaffController {
     @ApiResponse(responseCode = "404", description = "Staff member not found")
     @ApiResponse(responseCode = "400", description = "Invalid staff data")
     public ResponseEntity<StaffDto> updateStaff(@PathVariable String id, @Valid @RequestBody StaffDto staffDto) {
-        Staff staff = convertToEntity(staffDto);
+        Staff staff = staffMapper.staffDtoToStaff(staffDto);
         Staff updatedStaff = staffService.updateStaff(id, staff);
-        return ResponseEntity.ok(convertToDto(updatedStaff));
+        return ResponseEntity.ok(staffMapper.staffToStaffDto(updatedStaff));
     }
 
     @DeleteMapping("/{id}")
@@ -75,11 +145,26 @@ public class StaffController {
         return ResponseEntity.noContent().build();
     }
 
-    private StaffDto convertToDto(Staff staff) {
-        return new StaffDto(staff.getId(), staff.getName(), staff.getEmail(), staff.getDepartment());
+    @PostMapping("/{id}/handover")
+    @Operation(summary = "Hand over a staff member's active tasks",
+               description = "Reassigns every active task of the staff member in one pass, either to the staff member 'to' " +
+                             "or each to the least loaded member of 'department'. Also accepts ids of deleted staff whose " +
+                             "tasks were left behind. With deleteAfter=true the staff member is deleted first, so no task " +
+                             "can be assigned to them while the handover runs.")
+    @ApiResponse(responseCode = "200", description = "Tasks handed over successfully")
+    @ApiResponse(responseCode = "400", description = "Neither or both of 'to' and 'department' given, or 'to' is the same staff member")
+    @ApiResponse(responseCode = "404", description = "Target staff member not found, or no other staff in the department; nothing is deleted")
+    public ResponseEntity<HandoverResultDto> handOverTasks(@PathVariable String id,
+            @RequestParam(required = false) @Parameter(description = "Staff member to receive all tasks") String to,
+            @RequestParam(required = false) @Parameter(description = "Department to spread the tasks over by load") String department,
+            @RequestParam String updatedBy,
+            @RequestParam(defaultValue = "false") boolean deleteAfter) {
+        boolean deleted = deleteAfter && staffService.staffExists(id);
+        Map<String, Integer> assignments = taskService.handOverTasks(id, to, department, updatedBy, deleted);
+        return ResponseEntity.ok(new HandoverResultDto(id, assignments, deleted));
     }
 
-    private Staff convertToEntity(StaffDto staffDto) {
-        return new Staff(staffDto.getId(), staffDto.getName(), staffDto.getEmail(), staffDto.getDepartment());
+    private static ResponseEntity<byte[]> projected(byte[] body, ResponseFormat format) {
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).contentType(format.getMediaType()).body(body);
     }
 }
@@ -0,0 +1,37 @@
+package com.workforcemgmt.controller;
+
+import com.workforcemgmt.dto.SyncResponseDto;
+import com.workforcemgmt.service.SyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/sync")
+@Tag(name = "Synchronization", description = "Delta sync of tasks and staff for offline-capable clients")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    public SyncController(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Get changes since a sync cursor",
+               description = "Returns tasks and staff changed or deleted after 'since'. Start with since=0 and pass the " +
+                             "returned cursor next time. fullResync=true means the cursor has expired or was issued " +
+                             "before a restart: reload /api/tasks and /api/staff, then continue from the returned cursor.")
+    @ApiResponse(responseCode = "200", description = "Changes retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Malformed or negative cursor")
+    public ResponseEntity<SyncResponseDto> sync(
+            @RequestParam(defaultValue = "0") @Parameter(description = "Cursor returned by the previous sync, <epoch>:<sequence>") String since) {
+        return ResponseEntity.ok(syncService.changesSince(since));
+    }
+}
@@ -1,34 +1,91 @@
 package com.workforcemgmt.controller;
 
 import com.workforcemgmt.dto.*;
+import com.workforcemgmt.exception.PreconditionFailedException;
+import com.workforcemgmt.mapper.ExportFormat;
+import com.workforcemgmt.mapper.ImportFormat;
+import com.workforcemgmt.mapper.Projection;
+import com.workforcemgmt.mapper.ProjectionWriter;
+import com.workforcemgmt.mapper.ResponseFormat;
+import com.workforcemgmt.mapper.TaskJsonCache;
 import com.workforcemgmt.mapper.TaskMapper;
 import com.workforcemgmt.model.Priority;
 import com.workforcemgmt.model.Task;
+import com.workforcemgmt.model.TaskMutation;
 import com.workforcemgmt.model.TaskStatus;
+import com.workforcemgmt.profiling.TaskRenderEvent;
+import com.workforcemgmt.service.ExportService;
+import com.workforcemgmt.service.ImportService;
 import com.workforcemgmt.service.TaskService;
+import com.workforcemgmt.service.TaskStreamService;
+import com.workforcemgmt.service.WorkloadService;
+import com.workforcemgmt.store.IdempotencyCache;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.time.LocalDate;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/tasks")
 @Tag(name = "Task Management", description = "APIs for managing workforce tasks, assignments, and operations")
 public class TaskController {
 
+    private static final String FIELDS_DESCRIPTION = "Comma-separated fields to return, e.g. id,title,status,priority,assignedStaffId";
+    private static final String PREFER = "Prefer";
+    private static final String PREFERENCE_APPLIED = "Preference-Applied";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    private static final String IDEMPOTENCY_KEY_DESCRIPTION = "Client-generated key; retries with the same key return the first result instead of running again, " +
+                                                              "reusing it for a different request is rejected with 422";
+    private static final String PREFER_DESCRIPTION = "return=minimal for only the ETag, return=delta for the created activity entry or comment " +
+                                                     "plus the new version, return=representation for the full task";
+
     private final TaskService taskService;
     private final TaskMapper taskMapper;
+    private final TaskJsonCache taskJsonCache;
+    private final ProjectionWriter projectionWriter;
+    private final TaskStreamService taskStreamService;
+    private final IdempotencyCache idempotencyCache;
+    private final WorkloadService workloadService;
+    private final ImportService importService;
+    private final ExportService exportService;
 
-    public TaskController(TaskService taskService, TaskMapper taskMapper) {
+    public TaskController(TaskService taskService, TaskMapper taskMapper, TaskJsonCache taskJsonCache,
+                          ProjectionWriter projectionWriter, TaskStreamService taskStreamService,
+                          IdempotencyCache idempotencyCache, WorkloadService workloadService,
+                          ImportService importService, ExportService exportService) {
         this.taskService = taskService;
         this.taskMapper = taskMapper;
+        this.taskJsonCache = taskJsonCache;
+        this.projectionWriter = projectionWriter;
+        this.taskStreamService = taskStreamService;
+        this.idempotencyCache = idempotencyCache;
+        this.workloadService = workloadService;
+        this.importService = importService;
+        this.exportService = exportService;
     }
 
     @PostMapping
@@ -36,39 +93,158 @@ public class TaskController {
     @ApiResponse(responseCode = "201", description = "Task created successfully")
     @ApiResponse(responseCode = "400", description = "Invalid request data")
     @ApiResponse(responseCode = "404", description = "Staff member not found")
-    public ResponseEntity<TaskDto> createTask(@Valid @RequestBody CreateTaskRequest request) {
-        Task createdTask = taskService.createTask(request);
-        TaskDto taskDto = taskMapper.taskToTaskDto(createdTask);
-        return ResponseEntity.status(HttpStatus.CREATED).body(taskDto);
+    @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different request")
+    public ResponseEntity<?> createTask(@Valid @RequestBody CreateTaskRequest request,
+            @RequestHeader(value = PREFER, required = false) @Parameter(description = PREFER_DESCRIPTION) String prefer,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) @Parameter(description = IDEMPOTENCY_KEY_DESCRIPTION) String idempotencyKey) {
+        IdempotencyCache.Outcome<TaskMutation> outcome =
+            idempotencyCache.execute("create-task", idempotencyKey, request, () -> taskService.createTask(request));
+        TaskMutation mutation = outcome.value();
+        return mutationResponse(mutation, prefer, ReturnPreference.REPRESENTATION, true, outcome.replayed(),
+            () -> taskMapper.taskToTaskDto(mutation.getTask()));
+    }
+
+    @PostMapping("/import")
+    @Operation(summary = "Bulk import tasks",
+               description = "CSV with a header row naming the fields of a create request (title,description,priority," +
+                             "assignedStaffId,department,startDate,dueDate,createdBy,customerReference) or NDJSON of create " +
+                             "requests. Records are validated, checked against the current staff and stored in parallel " +
+                             "chunks; records without assignedStaffId are assigned automatically. The response streams an " +
+                             "NDJSON report: an error line per rejected record, a progress line per chunk and a final summary.")
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(content = {
+        @Content(mediaType = ImportFormat.CSV_VALUE), @Content(mediaType = ImportFormat.NDJSON_VALUE)})
+    @ApiResponse(responseCode = "200", description = "Import report",
+                 content = @Content(mediaType = ImportFormat.NDJSON_VALUE, schema = @Schema(implementation = ImportEventDto.class)))
+    @ApiResponse(responseCode = "400", description = "Upload is neither CSV nor NDJSON")
+    public void importTasks(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ImportFormat format = ImportFormat.of(request.getContentType());
+        response.setContentType(ImportFormat.NDJSON_VALUE);
+        importService.importTasks(request.getReader(), format, response.getOutputStream());
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export all tasks",
+               description = "Streams every task as CSV or as a compact columnar file (format=columnar). With " +
+                             "include=activity there is one row per activity entry, repeating the task's columns. Rows " +
+                             "are written as they are read, each a consistent copy of its task.")
+    @ApiResponse(responseCode = "200", description = "Export streamed",
+                 content = {@Content(mediaType = "text/csv"), @Content(mediaType = "application/x-workforce-columnar")})
+    @ApiResponse(responseCode = "400", description = "Unknown format or include")
+    public void exportTasks(@RequestParam(required = false) @Parameter(description = "csv (default) or columnar") String format,
+            @RequestParam(required = false) @Parameter(description = "activity to add the activity history") String include,
+            HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        boolean includeActivity = includesActivity(include);
+        response.setContentType(exportFormat.getMediaType().toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                           "attachment; filename=\"tasks." + exportFormat.getExtension() + "\"");
+        exportService.export(exportFormat, includeActivity, response.getOutputStream());
+    }
+
+    @PostMapping("/export")
+    @Operation(summary = "Export all tasks to the export directory",
+               description = "Writes the same export as GET /api/tasks/export to a new file in workforce.export.directory, " +
+                             "for scheduled extracts. The file appears under its final name once complete.")
+    @ApiResponse(responseCode = "200", description = "Export written")
+    @ApiResponse(responseCode = "400", description = "Unknown format or include")
+    public ResponseEntity<ExportResultDto> exportTasksToDirectory(
+            @RequestParam(required = false) @Parameter(description = "csv (default) or columnar") String format,
+            @RequestParam(required = false) @Parameter(description = "activity to add the activity history") String include)
+            throws IOException {
+        return ResponseEntity.ok(exportService.exportToDirectory(ExportFormat.of(format), includesActivity(include)));
     }
 
     @GetMapping
     @Operation(summary = "Get all tasks")
-    @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully")
-    public ResponseEntity<List<TaskDto>> getAllTasks() {
+    @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully",
+                 content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = TaskDto.class))))
+    public ResponseEntity<byte[]> getAllTasks(@RequestParam(required = false) @Parameter(description = FIELDS_DESCRIPTION) String fields, WebRequest webRequest) {
+        Projection<Task> projection = listProjection(fields);
+        ResponseFormat format = ResponseFormat.negotiate(webRequest);
+        String eTag = listETag(format);
+        if (webRequest.checkNotModified(eTag)) {
+            return notModified();
+        }
         List<Task> tasks = taskService.getAllTasks();
-        List<TaskDto> taskDtos = taskMapper.tasksToTaskDtos(tasks);
-        return ResponseEntity.ok(taskDtos);
+        return listBody(tasks, eTag, projection, format);
+    }
+
+    @GetMapping("/query")
+    @Operation(summary = "Query tasks with combined filters",
+               description = "Any combination of status, priority, staff, customer reference and start date window. " +
+                             "Excludes cancelled tasks unless a status is given.")
+    @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully",
+                 content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = TaskDto.class))))
+    public ResponseEntity<byte[]> queryTasks(@ParameterObject TaskQueryRequest query,
+            @RequestParam(required = false) @Parameter(description = FIELDS_DESCRIPTION) String fields, WebRequest webRequest) {
+        Projection<Task> projection = listProjection(fields);
+        ResponseFormat format = ResponseFormat.negotiate(webRequest);
+        String eTag = listETag(format);
+        if (webRequest.checkNotModified(eTag)) {
+            return notModified();
+        }
+        List<Task> tasks = taskService.queryTasks(query);
+        return listBody(tasks, eTag, projection, format);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream live task changes",
+               description = "Server-Sent Events for task creation, reassignment, updates, status, priority, comments and deletion, " +
+                             "filtered by assigned staff and/or department. Event ids are sync sequences: after a 'resync' event " +
+                             "or a reconnect, catch up with /api/sync?since=<last event id>.")
+    @ApiResponse(responseCode = "200", description = "Event stream opened")
+    @ApiResponse(responseCode = "404", description = "Staff member not found")
+    public SseEmitter streamTasks(@RequestParam(required = false) String staffId,
+                                  @RequestParam(required = false) String department) {
+        return taskStreamService.subscribe(staffId, department);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get task by ID")
     @ApiResponse(responseCode = "200", description = "Task retrieved successfully")
+    @ApiResponse(responseCode = "304", description = "Task unchanged since the ETag in If-None-Match")
     @ApiResponse(responseCode = "404", description = "Task not found")
-    public ResponseEntity<TaskDetailsDto> getTaskById(@PathVariable String id) {
-        Task task = taskService.getTaskWithFullDetails(id);
-        TaskDetailsDto taskDetailsDto = taskMapper.taskToTaskDetailsDto(task);
-        return ResponseEntity.ok(taskDetailsDto);
+    public ResponseEntity<?> getTaskById(@PathVariable String id,
+            @RequestParam(required = false) @Parameter(description = FIELDS_DESCRIPTION) String fields,
+            @RequestParam(required = false) @Parameter(description = "Collections to include when projecting: activity, comments") String include,
+            WebRequest webRequest) {
+        Projection<Task> projection = detailsProjection(fields, include);
+        ResponseFormat format = ResponseFormat.negotiate(webRequest);
+        // Version lookup only, nothing is sorted or mapped for a 304
+        String eTag = taskETag(taskService.getTaskById(id).getVersion(), format);
+        if (webRequest.checkNotModified(eTag)) {
+            return notModified();
+        }
+        if (projection == null) {
+            // Encoded by the negotiated message converter
+            Task task = taskService.getTaskWithFullDetails(id);
+            TaskDetailsDto taskDetailsDto = TaskRenderEvent.mapping(() -> taskMapper.taskToTaskDetailsDto(task));
+            return ResponseEntity.ok().eTag(eTag).varyBy(HttpHeaders.ACCEPT).body(taskDetailsDto);
+        }
+        // Only sort history and comments when they are actually rendered
+        Task task = include != null
+            ? taskService.getTaskWithFullDetails(id)
+            : taskService.getTaskById(id);
+        return ResponseEntity.ok()
+            .eTag(eTag)
+            .varyBy(HttpHeaders.ACCEPT)
+            .contentType(format.getMediaType())
+            .body(TaskRenderEvent.serialization("TaskDetailsDto projection", format.getMediaType().getSubtype(), 1,
+                                                () -> projectionWriter.write(task, projection, format)));
     }
 
     @PutMapping("/{id}")
     @Operation(summary = "Update task")
     @ApiResponse(responseCode = "200", description = "Task updated successfully")
+    @ApiResponse(responseCode = "204", description = "Task updated, body omitted for Prefer: return=minimal")
     @ApiResponse(responseCode = "404", description = "Task not found")
-    public ResponseEntity<TaskDto> updateTask(@PathVariable String id, @Valid @RequestBody Task task) {
-        Task updatedTask = taskService.updateTask(id, task);
-        TaskDto taskDto = taskMapper.taskToTaskDto(updatedTask);
-        return ResponseEntity.ok(taskDto);
+    @ApiResponse(responseCode = "412", description = "Task changed since the ETag in If-Match")
+    public ResponseEntity<?> updateTask(@PathVariable String id, @Valid @RequestBody Task task,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                        @RequestHeader(value = PREFER, required = false) @Parameter(description = PREFER_DESCRIPTION) String prefer) {
+        TaskMutation mutation = taskService.updateTask(id, task, expectedVersion(id, ifMatch));
+        return mutationResponse(mutation, prefer, ReturnPreference.REPRESENTATION, false, false,
+            () -> taskMapper.taskToTaskDto(mutation.getTask()));
     }
 
     @DeleteMapping("/{id}")
@@ -85,82 +261,301 @@ public class TaskController {
     @Operation(summary = "Reassign task by customer reference", 
                description = "BUG FIX 1: Reassigns task to new staff, cancels old task to avoid duplicates")
     @ApiResponse(responseCode = "200", description = "Task reassigned successfully")
+    @ApiResponse(responseCode = "204", description = "Task reassigned, body omitted for Prefer: return=minimal")
     @ApiResponse(responseCode = "404", description = "Task not found or staff member not found")
-    public ResponseEntity<TaskDto> reassignTaskByCustomerReference(
+    @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different request")
+    public ResponseEntity<?> reassignTaskByCustomerReference(
             @RequestParam String customerReference,
             @RequestParam String newStaffId,
-            @RequestParam String updatedBy) {
-        Task reassignedTask = taskService.reassignTaskByCustomerReference(customerReference, newStaffId, updatedBy);
-        TaskDto taskDto = taskMapper.taskToTaskDto(reassignedTask);
-        return ResponseEntity.ok(taskDto);
+            @RequestParam String updatedBy,
+            @RequestHeader(value = PREFER, required = false) @Parameter(description = PREFER_DESCRIPTION) String prefer,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) @Parameter(description = IDEMPOTENCY_KEY_DESCRIPTION) String idempotencyKey) {
+        IdempotencyCache.Outcome<TaskMutation> outcome = idempotencyCache.execute("assign-by-ref", idempotencyKey,
+            List.of(customerReference, newStaffId, updatedBy), () -> taskService.reassignTaskByCustomerReference(customerReference, newStaffId, updatedBy));
+        TaskMutation mutation = outcome.value();
+        return mutationResponse(mutation, prefer, ReturnPreference.REPRESENTATION, false, outcome.replayed(),
+            () -> taskMapper.taskToTaskDto(mutation.getTask()));
     }
 
     // Bug Fix 2: Date Range Filtering
     @GetMapping("/date-range")
     @Operation(summary = "Get tasks by date range", 
                description = "BUG FIX 2: Excludes cancelled tasks for clean view")
-    @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully (excluding cancelled)")
-    public ResponseEntity<List<TaskDto>> getTasksByDateRange(
+    @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully (excluding cancelled)",
+                 content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = TaskDto.class))))
+    public ResponseEntity<byte[]> getTasksByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) @Parameter(description = FIELDS_DESCRIPTION) String fields,
+            WebRequest webRequest) {
+        Projection<Task> projection = listProjection(fields);
+        ResponseFormat format = ResponseFormat.negotiate(webRequest);
+        String eTag = listETag(format);
+        if (webRequest.checkNotModified(eTag)) {
+            return notModified();
+        }
         List<Task> tasks = taskService.getTasksByDateRange(startDate, endDate);
-        List<TaskDto> taskDtos = taskMapper.tasksToTaskDtos(tasks);
-        return ResponseEntity.ok(taskDtos);
+        return listBody(tasks, eTag, projection, format);
     }
 
     // Feature 1: Smart Daily View
     @GetMapping("/smart-daily")
     @Operation(summary = "Get smart daily task view", 
                description = "FEATURE 1: Shows tasks starting in range PLUS active tasks from before")
-    @ApiResponse(responseCode = "200", description = "Smart daily tasks retrieved successfully")
-    public ResponseEntity<List<TaskDto>> getSmartDailyTasks(
+    @ApiResponse(responseCode = "200", description = "Smart daily tasks retrieved successfully",
+                 content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = TaskDto.class))))
+    public ResponseEntity<byte[]> getSmartDailyTasks(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) @Parameter(description = FIELDS_DESCRIPTION) String fields,
+            WebRequest webRequest) {
+        Projection<Task> projection = listProjection(fields);
+        ResponseFormat format = ResponseFormat.negotiate(webRequest);
+        String eTag = listETag(format);
+        if (webRequest.checkNotModified(eTag)) {
+            return notModified();
+        }
         List<Task> tasks = taskService.getSmartDailyTasks(startDate, endDate);
-        List<TaskDto> taskDtos = taskMapper.tasksToTaskDtos(tasks);
-        return ResponseEntity.ok(taskDtos);
+        return listBody(tasks, eTag, projection, format);
+    }
+
+    @GetMapping("/overlapping")
+    @Operation(summary = "Get tasks overlapping a date window",
+               description = "Tasks whose startDate..dueDate span shares at least one day with from..to. Without 'to', " +
+                             "returns the tasks in progress on 'from'. Excludes cancelled tasks unless a status is given.")
+    @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully",
+                 content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = TaskDto.class))))
+    @ApiResponse(responseCode = "400", description = "'from' is after 'to'")
+    public ResponseEntity<byte[]> getOverlappingTasks(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) String staffId,
+            @RequestParam(required = false) @Parameter(description = FIELDS_DESCRIPTION) String fields,
+            WebRequest webRequest) {
+        Projection<Task> projection = listProjection(fields);
+        ResponseFormat format = ResponseFormat.negotiate(webRequest);
+        String eTag = listETag(format);
+        if (webRequest.checkNotModified(eTag)) {
+            return notModified();
+        }
+        List<Task> tasks = taskService.getOverlappingTasks(from, to, status, staffId);
+        return listBody(tasks, eTag, projection, format);
+    }
+
+    @GetMapping("/workload")
+    @Operation(summary = "Get the staff workload heatmap",
+               description = "Number of active tasks each staff member has in progress on every day from 'from' to 'to' " +
+                             "(at most 366 days), optionally limited to one department")
+    @ApiResponse(responseCode = "200", description = "Heatmap built successfully")
+    @ApiResponse(responseCode = "400", description = "Empty or too long window")
+    public ResponseEntity<WorkloadHeatmapDto> getWorkloadHeatmap(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String department) {
+        return ResponseEntity.ok(workloadService.getWorkloadHeatmap(from, to, department));
     }
 
     // Feature 2: Priority Management
     @PutMapping("/{id}/priority")
     @Operation(summary = "Update task priority")
     @ApiResponse(responseCode = "200", description = "Priority updated successfully")
+    @ApiResponse(responseCode = "204", description = "Priority updated, body omitted for Prefer: return=minimal")
     @ApiResponse(responseCode = "404", description = "Task not found")
-    public ResponseEntity<TaskDto> updateTaskPriority(@PathVariable String id, @Valid @RequestBody UpdatePriorityRequest request) {
-        Task updatedTask = taskService.updateTaskPriority(id, request.getPriority(), request.getUpdatedBy());
-        TaskDto taskDto = taskMapper.taskToTaskDto(updatedTask);
-        return ResponseEntity.ok(taskDto);
+    public ResponseEntity<?> updateTaskPriority(@PathVariable String id, @Valid @RequestBody UpdatePriorityRequest request,
+            @RequestHeader(value = PREFER, required = false) @Parameter(description = PREFER_DESCRIPTION) String prefer) {
+        TaskMutation mutation = taskService.updateTaskPriority(id, request.getPriority(), request.getUpdatedBy());
+        return mutationResponse(mutation, prefer, ReturnPreference.REPRESENTATION, false, false,
+            () -> taskMapper.taskToTaskDto(mutation.getTask()));
     }
 
     @GetMapping("/priority/{priority}")
     @Operation(summary = "Get tasks by priority")
-    @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully")
-    public ResponseEntity<List<TaskDto>> getTasksByPriority(@PathVariable Priority priority) {
+    @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully",
+                 content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = TaskDto.class))))
+    public ResponseEntity<byte[]> getTasksByPriority(@PathVariable Priority priority,
+            @RequestParam(required = false) @Parameter(description = FIELDS_DESCRIPTION) String fields, WebRequest webRequest) {
+        Projection<Task> projection = listProjection(fields);
+        ResponseFormat format = ResponseFormat.negotiate(webRequest);
+        String eTag = listETag(format);
+        if (webRequest.checkNotModified(eTag)) {
+            return notModified();
+        }
         List<Task> tasks = taskService.getTasksByPriority(priority);
-        List<TaskDto> taskDtos = taskMapper.tasksToTaskDtos(tasks);
-        return ResponseEntity.ok(taskDtos);
+        return listBody(tasks, eTag, projection, format);
     }
 
     // Feature 3: Comments & Activity History
     @PostMapping("/{id}/comments")
     @Operation(summary = "Add comment to task", 
-               description = "FEATURE 3: Adds comment and creates activity log entry")
-    @ApiResponse(responseCode = "200", description = "Comment added successfully")
+               description = "FEATURE 3: Adds comment and creates activity log entry. Returns only the new comment, " +
+                             "activity entry and version; send Prefer: return=representation for the full task details.")
+    @ApiResponse(responseCode = "200", description = "Comment added successfully",
+                 content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = TaskDeltaDto.class)))
+    @ApiResponse(responseCode = "204", description = "Comment added, body omitted for Prefer: return=minimal")
     @ApiResponse(responseCode = "404", description = "Task not found")
     @ApiResponse(responseCode = "400", description = "Invalid comment data")
-    public ResponseEntity<TaskDetailsDto> addCommentToTask(@PathVariable String id, @Valid @RequestBody AddCommentRequest request) {
-        Task updatedTask = taskService.addCommentToTask(id, request.getUserId(), request.getUserName(), request.getContent());
-        TaskDetailsDto taskDetailsDto = taskMapper.taskToTaskDetailsDto(updatedTask);
-        return ResponseEntity.ok(taskDetailsDto);
+    public ResponseEntity<?> addCommentToTask(@PathVariable String id, @Valid @RequestBody AddCommentRequest request,
+            @RequestHeader(value = PREFER, required = false) @Parameter(description = PREFER_DESCRIPTION) String prefer) {
+        TaskMutation mutation = taskService.addCommentToTask(id, request.getUserId(), request.getUserName(), request.getContent());
+        // History and comments grow with the task, so the full details are opt-in
+        return mutationResponse(mutation, prefer, ReturnPreference.DELTA, false, false,
+            () -> taskMapper.taskToTaskDetailsDto(taskService.getTaskWithFullDetails(id)));
     }
 
     @PutMapping("/{id}/status")
     @Operation(summary = "Update task status")
     @ApiResponse(responseCode = "200", description = "Status updated successfully")
+    @ApiResponse(responseCode = "204", description = "Status updated, body omitted for Prefer: return=minimal")
     @ApiResponse(responseCode = "404", description = "Task not found")
-    public ResponseEntity<TaskDto> updateTaskStatus(@PathVariable String id, @RequestParam TaskStatus status, @RequestParam String updatedBy) {
-        Task updatedTask = taskService.updateTaskStatus(id, status, updatedBy);
-        TaskDto taskDto = taskMapper.taskToTaskDto(updatedTask);
-        return ResponseEntity.ok(taskDto);
+    public ResponseEntity<?> updateTaskStatus(@PathVariable String id, @RequestParam TaskStatus status, @RequestParam String updatedBy,
+            @RequestHeader(value = PREFER, required = false) @Parameter(description = PREFER_DESCRIPTION) String prefer) {
+        TaskMutation mutation = taskService.updateTaskStatus(id, status, updatedBy);
+        return mutationResponse(mutation, prefer, ReturnPreference.REPRESENTATION, false, false,
+            () -> taskMapper.taskToTaskDto(mutation.getTask()));
+    }
+
+    /**
+     * Answer a mutation as the Prefer header asks, falling back to the endpoint's default. Minimal
+     * responses carry only the ETag (204, or 201 with Location for creations); deltas carry what the
+     * mutation created and the version it produced. The representation is only mapped when sent.
+     * Results replayed for a repeated Idempotency-Key are marked as such.
+     */
+    private ResponseEntity<?> mutationResponse(TaskMutation mutation, String prefer, ReturnPreference defaultPreference,
+                                               boolean created, boolean replayed, Supplier<?> representation) {
+        ReturnPreference requested = ReturnPreference.parse(prefer);
+        ReturnPreference preference = requested != null ? requested : defaultPreference;
+        ResponseEntity.BodyBuilder response;
+        if (created) {
+            response = ResponseEntity.created(ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/api/tasks/{id}").buildAndExpand(mutation.getTask().getId()).toUri());
+        } else {
+            response = ResponseEntity.status(preference == ReturnPreference.MINIMAL ? HttpStatus.NO_CONTENT : HttpStatus.OK);
+        }
+        response.eTag(taskETag(mutation.getVersion()));
+        if (requested != null) {
+            response.header(PREFERENCE_APPLIED, requested.applied());
+        }
+        if (replayed) {
+            response.header(IDEMPOTENT_REPLAYED, "true");
+        }
+        return switch (preference) {
+            case MINIMAL -> response.build();
+            case DELTA -> response.body(new TaskDeltaDto(mutation.getTask().getId(), mutation.getVersion(),
+                                                         mutation.getActivity(), mutation.getComment()));
+            case REPRESENTATION -> response.body(TaskRenderEvent.mapping(representation));
+        };
+    }
+
+    /**
+     * Full JSON lists are written from the per-task JSON cache instead of being mapped and serialized
+     * per request; projections and binary encodings are written field by field from the tasks
+     */
+    private ResponseEntity<byte[]> listBody(List<Task> tasks, String eTag, Projection<Task> projection, ResponseFormat format) {
+        String view = projection != null ? "TaskDto projection list" : "TaskDto list";
+        byte[] body = TaskRenderEvent.serialization(view, format.getMediaType().getSubtype(), tasks.size(), () -> {
+            if (projection == null && format == ResponseFormat.JSON) {
+                return taskJsonCache.taskArrayJson(tasks);
+            }
+            return projectionWriter.writeArray(tasks, projection != null ? projection : taskMapper.taskFields(), format);
+        });
+        return ResponseEntity.ok()
+            .eTag(eTag)
+            .varyBy(HttpHeaders.ACCEPT)
+            .contentType(format.getMediaType())
+            .body(body);
+    }
+
+    /**
+     * Resolved before querying so an unknown field fails fast; null means the full cached DTO
+     */
+    private Projection<Task> listProjection(String fields) {
+        return fields == null ? null : taskMapper.taskFields().select(fields);
+    }
+
+    /**
+     * Projection for task details: the requested base fields (all by default) plus any included
+     * collections. Null when neither parameter is given, keeping the full TaskDetailsDto.
+     */
+    private Projection<Task> detailsProjection(String fields, String include) {
+        if (fields == null && include == null) {
+            return null;
+        }
+        Set<String> names = new LinkedHashSet<>();
+        if (fields == null) {
+            for (int i = 0; i < taskMapper.taskFields().size(); i++) {
+                names.add(taskMapper.taskFields().name(i));
+            }
+        } else {
+            names.addAll(Projection.parseList(fields));
+        }
+        for (String collection : Projection.parseList(include)) {
+            switch (collection) {
+                case "activity" -> names.add("activityHistory");
+                case "comments" -> names.add("comments");
+                default -> throw new IllegalArgumentException("Unknown include '" + collection + "', expected activity or comments");
+            }
+        }
+        return taskMapper.taskDetailsFields().select(names);
+    }
+
+    private static boolean includesActivity(String include) {
+        boolean activity = false;
+        for (String collection : Projection.parseList(include)) {
+            if (!collection.equals("activity")) {
+                throw new IllegalArgumentException("Unknown include '" + collection + "', expected activity");
+            }
+            activity = true;
+        }
+        return activity;
+    }
+
+    /**
+     * checkNotModified has already written the ETag; setting it again would send it twice
+     */
+    private static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+    }
+
+    /**
+     * Strong ETag of a single task, derived from its version and the version of the staff
+     * directory its staff name is rendered from
+     */
+    private String taskETag(long version) {
+        return taskETag(version, ResponseFormat.JSON);
+    }
+
+    private String taskETag(long version, ResponseFormat format) {
+        return "\"v" + version + "." + Long.toHexString(taskMapper.staffVersion()) + format.getETagSuffix() + "\"";
+    }
+
+    /**
+     * Strong ETag of a list view. The store-wide modification count changes whenever any task
+     * does, so it is read before querying: a concurrent change can only make the tag too old, never too new.
+     * The same holds for the staff directory version covering the rendered staff names.
+     */
+    private String listETag(ResponseFormat format) {
+        return "\"l" + Long.toHexString(taskService.getModificationCount())
+            + "." + Long.toHexString(taskMapper.staffVersion()) + format.getETagSuffix() + "\"";
+    }
+
+    /**
+     * Resolve If-Match to the version the update must apply to, or null when unconditional
+     */
+    private Long expectedVersion(String id, String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        long currentVersion = taskService.getTaskById(id).getVersion();
+        String currentETag = taskETag(currentVersion);
+        // Any encoding of the current version matches, whatever staff names it was rendered with:
+        // renaming a staff member is not a change to the task
+        String currentPrefix = "\"v" + currentVersion + ".";
+        for (String eTag : ifMatch.split(",")) {
+            if (eTag.trim().startsWith(currentPrefix)) {
+                return currentVersion;
+            }
+        }
+        throw new PreconditionFailedException("Task " + id + " does not match If-Match, current ETag is " + currentETag);
     }
 }
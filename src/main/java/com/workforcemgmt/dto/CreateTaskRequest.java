@@ -1,5 +1,6 @@
 package com.workforcemgmt.dto;
 
+import com.workforcemgmt.model.AssignmentStrategy;
 import com.workforcemgmt.model.Priority;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
@@ -22,9 +23,14 @@ public class CreateTaskRequest {
     @Schema(description = "Task priority level", example = "HIGH", required = true)
     private Priority priority;
     
-    @NotNull(message = "Assigned staff ID is required")
-    @Schema(description = "ID of the staff member to assign this task", example = "staff-1", required = true)
+    @Schema(description = "ID of the staff member to assign this task; omit to assign automatically", example = "staff-1")
     private String assignedStaffId;
+
+    @Schema(description = "How to pick the staff member when assignedStaffId is omitted (default LEAST_LOADED)", example = "LEAST_LOADED")
+    private AssignmentStrategy strategy;
+
+    @Schema(description = "Department to pick the staff member from when assigning automatically", example = "Operations")
+    private String department;
     
     @NotNull(message = "Start date is required")
     @Schema(description = "Task start date", example = "2025-08-03", required = true)
@@ -67,6 +73,12 @@ public class CreateTaskRequest {
     public String getAssignedStaffId() { return assignedStaffId; }
     public void setAssignedStaffId(String assignedStaffId) { this.assignedStaffId = assignedStaffId; }
 
+    public AssignmentStrategy getStrategy() { return strategy; }
+    public void setStrategy(AssignmentStrategy strategy) { this.strategy = strategy; }
+
+    public String getDepartment() { return department; }
+    public void setDepartment(String department) { this.department = department; }
+
     public LocalDate getStartDate() { return startDate; }
     public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
 
@@ -0,0 +1,59 @@
+package com.workforcemgmt.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO for a finished task export
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Outcome of a task export")
+public class ExportResultDto {
+    @Schema(description = "Export file format", example = "csv")
+    private String format;
+
+    @Schema(description = "File written, for exports to the export directory", example = "exports/tasks-20250803-020000.csv")
+    private String file;
+
+    @Schema(description = "Tasks exported", example = "250000")
+    private long tasks;
+
+    @Schema(description = "Rows written; one per activity entry when activity is included", example = "1250000")
+    private long rows;
+
+    @Schema(description = "Size of the export in bytes", example = "183500800")
+    private long bytes;
+
+    @Schema(description = "Time taken by the export", example = "5400")
+    private long elapsedMillis;
+
+    public ExportResultDto() {}
+
+    public ExportResultDto(String format, String file, long tasks, long rows, long bytes, long elapsedMillis) {
+        this.format = format;
+        this.file = file;
+        this.tasks = tasks;
+        this.rows = rows;
+        this.bytes = bytes;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    // Getters and Setters
+    public String getFormat() { return format; }
+    public void setFormat(String format) { this.format = format; }
+
+    public String getFile() { return file; }
+    public void setFile(String file) { this.file = file; }
+
+    public long getTasks() { return tasks; }
+    public void setTasks(long tasks) { this.tasks = tasks; }
+
+    public long getRows() { return rows; }
+    public void setRows(long rows) { this.rows = rows; }
+
+    public long getBytes() { return bytes; }
+    public void setBytes(long bytes) { this.bytes = bytes; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+}
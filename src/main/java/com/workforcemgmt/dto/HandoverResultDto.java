@@ -0,0 +1,45 @@
+package com.workforcemgmt.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+
+/**
+ * DTO for the outcome of handing over a staff member's active tasks
+ */
+@Schema(description = "Tasks handed over from a staff member")
+public class HandoverResultDto {
+    @Schema(description = "Staff member whose tasks were handed over", example = "staff-1")
+    private String staffId;
+
+    @Schema(description = "Total number of active tasks handed over", example = "12")
+    private int handedOver;
+
+    @Schema(description = "Number of tasks each staff member received, by staff ID")
+    private Map<String, Integer> assignments;
+
+    @Schema(description = "Whether the staff member was deleted as part of the handover", example = "false")
+    private boolean staffDeleted;
+
+    public HandoverResultDto() {}
+
+    public HandoverResultDto(String staffId, Map<String, Integer> assignments, boolean staffDeleted) {
+        this.staffId = staffId;
+        this.handedOver = assignments.values().stream().mapToInt(Integer::intValue).sum();
+        this.assignments = assignments;
+        this.staffDeleted = staffDeleted;
+    }
+
+    // Getters and Setters
+    public String getStaffId() { return staffId; }
+    public void setStaffId(String staffId) { this.staffId = staffId; }
+
+    public int getHandedOver() { return handedOver; }
+    public void setHandedOver(int handedOver) { this.handedOver = handedOver; }
+
+    public Map<String, Integer> getAssignments() { return assignments; }
+    public void setAssignments(Map<String, Integer> assignments) { this.assignments = assignments; }
+
+    public boolean isStaffDeleted() { return staffDeleted; }
+    public void setStaffDeleted(boolean staffDeleted) { this.staffDeleted = staffDeleted; }
+}
@@ -0,0 +1,88 @@
+package com.workforcemgmt.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO for one line of a bulk import's NDJSON report: an error for a rejected record, progress
+ * after each chunk, and a final summary
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Bulk import report line")
+public class ImportEventDto {
+    @Schema(description = "error, progress or summary", example = "progress")
+    private String type;
+
+    @Schema(description = "Input line the rejected record starts on", example = "42")
+    private Long line;
+
+    @Schema(description = "Why the record was rejected, or why the import stopped", example = "Unknown staff member: staff-9")
+    private String message;
+
+    @Schema(description = "Records read so far", example = "5000")
+    private Long processed;
+
+    @Schema(description = "Records imported so far", example = "4998")
+    private Long imported;
+
+    @Schema(description = "Records rejected so far", example = "2")
+    private Long failed;
+
+    @Schema(description = "Time taken by the whole import, summary only", example = "840")
+    private Long elapsedMillis;
+
+    @Schema(description = "Whether the whole input was read, summary only", example = "true")
+    private Boolean completed;
+
+    public ImportEventDto() {}
+
+    public static ImportEventDto error(Long line, String message) {
+        ImportEventDto event = new ImportEventDto();
+        event.type = "error";
+        event.line = line;
+        event.message = message;
+        return event;
+    }
+
+    public static ImportEventDto progress(long processed, long imported, long failed) {
+        ImportEventDto event = new ImportEventDto();
+        event.type = "progress";
+        event.processed = processed;
+        event.imported = imported;
+        event.failed = failed;
+        return event;
+    }
+
+    public static ImportEventDto summary(long processed, long imported, long failed, long elapsedMillis, boolean completed) {
+        ImportEventDto event = progress(processed, imported, failed);
+        event.type = "summary";
+        event.elapsedMillis = elapsedMillis;
+        event.completed = completed;
+        return event;
+    }
+
+    // Getters and Setters
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public Long getLine() { return line; }
+    public void setLine(Long line) { this.line = line; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public Long getProcessed() { return processed; }
+    public void setProcessed(Long processed) { this.processed = processed; }
+
+    public Long getImported() { return imported; }
+    public void setImported(Long imported) { this.imported = imported; }
+
+    public Long getFailed() { return failed; }
+    public void setFailed(Long failed) { this.failed = failed; }
+
+    public Long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(Long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+
+    public Boolean getCompleted() { return completed; }
+    public void setCompleted(Boolean completed) { this.completed = completed; }
+}
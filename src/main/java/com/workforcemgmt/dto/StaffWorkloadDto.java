@@ -0,0 +1,43 @@
+package com.workforcemgmt.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO for one staff member's row of the workload heatmap
+ */
+@Schema(description = "Open tasks of one staff member per day of the heatmap window")
+public class StaffWorkloadDto {
+    @Schema(description = "Staff member ID", example = "staff-1")
+    private String staffId;
+
+    @Schema(description = "Staff member name; absent for tasks assigned to staff that no longer exist", example = "John Doe")
+    private String staffName;
+
+    @Schema(description = "Active tasks spanning each day, one entry per day from 'from' to 'to'")
+    private int[] dailyTaskCounts;
+
+    @Schema(description = "Highest daily count in the window", example = "3")
+    private int peak;
+
+    public StaffWorkloadDto() {}
+
+    public StaffWorkloadDto(String staffId, String staffName, int[] dailyTaskCounts, int peak) {
+        this.staffId = staffId;
+        this.staffName = staffName;
+        this.dailyTaskCounts = dailyTaskCounts;
+        this.peak = peak;
+    }
+
+    // Getters and Setters
+    public String getStaffId() { return staffId; }
+    public void setStaffId(String staffId) { this.staffId = staffId; }
+
+    public String getStaffName() { return staffName; }
+    public void setStaffName(String staffName) { this.staffName = staffName; }
+
+    public int[] getDailyTaskCounts() { return dailyTaskCounts; }
+    public void setDailyTaskCounts(int[] dailyTaskCounts) { this.dailyTaskCounts = dailyTaskCounts; }
+
+    public int getPeak() { return peak; }
+    public void setPeak(int peak) { this.peak = peak; }
+}
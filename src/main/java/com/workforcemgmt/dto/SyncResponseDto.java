@@ -0,0 +1,66 @@
+package com.workforcemgmt.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO for a delta sync: current state of every task and staff member changed since the client's
+ * cursor, the ids deleted since then, and the cursor to pass on the next sync
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Changes since a sync cursor")
+public class SyncResponseDto {
+    @Schema(description = "Cursor to send as 'since' on the next sync, <epoch>:<sequence>", example = "3kq8x1c9hf2:42")
+    private String cursor;
+
+    @Schema(description = "True when the cursor is no longer covered by the change log or comes from before a restart: " +
+                          "reload all tasks and staff, then sync from 'cursor'")
+    private boolean fullResync;
+
+    private List<TaskDto> tasks;
+    private List<StaffDto> staff;
+    private List<String> deletedTaskIds;
+    private List<String> deletedStaffIds;
+
+    public SyncResponseDto() {}
+
+    public SyncResponseDto(String cursor, List<TaskDto> tasks, List<StaffDto> staff,
+                           List<String> deletedTaskIds, List<String> deletedStaffIds) {
+        this.cursor = cursor;
+        this.tasks = tasks;
+        this.staff = staff;
+        this.deletedTaskIds = deletedTaskIds;
+        this.deletedStaffIds = deletedStaffIds;
+    }
+
+    /**
+     * Compact signal that the client must reload everything, carrying only the cursor to resume from
+     */
+    public static SyncResponseDto fullResync(String cursor) {
+        SyncResponseDto response = new SyncResponseDto();
+        response.setCursor(cursor);
+        response.setFullResync(true);
+        return response;
+    }
+
+    // Getters and Setters
+    public String getCursor() { return cursor; }
+    public void setCursor(String cursor) { this.cursor = cursor; }
+
+    public boolean isFullResync() { return fullResync; }
+    public void setFullResync(boolean fullResync) { this.fullResync = fullResync; }
+
+    public List<TaskDto> getTasks() { return tasks; }
+    public void setTasks(List<TaskDto> tasks) { this.tasks = tasks; }
+
+    public List<StaffDto> getStaff() { return staff; }
+    public void setStaff(List<StaffDto> staff) { this.staff = staff; }
+
+    public List<String> getDeletedTaskIds() { return deletedTaskIds; }
+    public void setDeletedTaskIds(List<String> deletedTaskIds) { this.deletedTaskIds = deletedTaskIds; }
+
+    public List<String> getDeletedStaffIds() { return deletedStaffIds; }
+    public void setDeletedStaffIds(List<String> deletedStaffIds) { this.deletedStaffIds = deletedStaffIds; }
+}
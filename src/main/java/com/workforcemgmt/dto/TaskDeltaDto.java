@@ -0,0 +1,39 @@
+package com.workforcemgmt.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.workforcemgmt.model.ActivityEntry;
+import com.workforcemgmt.model.Comment;
+
+/**
+ * DTO for the change a mutation made to a task: the new version plus only the activity entry
+ * and comment it created, returned for Prefer: return=delta
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskDeltaDto {
+    private String taskId;
+    private long version;
+    private ActivityEntry activity;
+    private Comment comment;
+
+    public TaskDeltaDto() {}
+
+    public TaskDeltaDto(String taskId, long version, ActivityEntry activity, Comment comment) {
+        this.taskId = taskId;
+        this.version = version;
+        this.activity = activity;
+        this.comment = comment;
+    }
+
+    // Getters and Setters
+    public String getTaskId() { return taskId; }
+    public void setTaskId(String taskId) { this.taskId = taskId; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public ActivityEntry getActivity() { return activity; }
+    public void setActivity(ActivityEntry activity) { this.activity = activity; }
+
+    public Comment getComment() { return comment; }
+    public void setComment(Comment comment) { this.comment = comment; }
+}
@@ -0,0 +1,91 @@
+package com.workforcemgmt.dto;
+
+import com.workforcemgmt.model.Priority;
+import com.workforcemgmt.model.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.StringJoiner;
+
+/**
+ * DTO for combined task filters. Every predicate is optional; supplied predicates are ANDed together.
+ */
+@Schema(description = "Combined task filter, all predicates optional")
+public class TaskQueryRequest {
+    @Schema(description = "Task status; cancelled tasks are excluded unless requested explicitly", example = "ACTIVE")
+    private TaskStatus status;
+
+    @Schema(description = "Task priority level", example = "HIGH")
+    private Priority priority;
+
+    @Schema(description = "ID of the assigned staff member", example = "staff-1")
+    private String staffId;
+
+    @Schema(description = "Customer reference", example = "CUST-001")
+    private String customerReference;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    @Schema(description = "Earliest task start date (inclusive)", example = "2025-08-01")
+    private LocalDate startDate;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    @Schema(description = "Latest task start date (inclusive)", example = "2025-08-31")
+    private LocalDate endDate;
+
+    public TaskQueryRequest() {}
+
+    public TaskQueryRequest(TaskStatus status, Priority priority, String staffId, String customerReference,
+                            LocalDate startDate, LocalDate endDate) {
+        this.status = status;
+        this.priority = priority;
+        this.staffId = staffId;
+        this.customerReference = customerReference;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    public boolean hasDateWindow() {
+        return startDate != null || endDate != null;
+    }
+
+    // Getters and Setters
+    public TaskStatus getStatus() { return status; }
+    public void setStatus(TaskStatus status) { this.status = status; }
+
+    public Priority getPriority() { return priority; }
+    public void setPriority(Priority priority) { this.priority = priority; }
+
+    public String getStaffId() { return staffId; }
+    public void setStaffId(String staffId) { this.staffId = staffId; }
+
+    public String getCustomerReference() { return customerReference; }
+    public void setCustomerReference(String customerReference) { this.customerReference = customerReference; }
+
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+
+    /**
+     * The filters that are set, e.g. {status=ACTIVE, staffId=staff-1}
+     */
+    @Override
+    public String toString() {
+        StringJoiner filters = new StringJoiner(", ", "{", "}");
+        addFilter(filters, "status", status);
+        addFilter(filters, "priority", priority);
+        addFilter(filters, "staffId", staffId);
+        addFilter(filters, "customerReference", customerReference);
+        addFilter(filters, "startDate", startDate);
+        addFilter(filters, "endDate", endDate);
+        return filters.toString();
+    }
+
+    private static void addFilter(StringJoiner filters, String name, Object value) {
+        if (value != null) {
+            filters.add(name + "=" + value);
+        }
+    }
+}
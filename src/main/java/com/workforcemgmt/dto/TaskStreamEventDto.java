@@ -0,0 +1,49 @@
+package com.workforcemgmt.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.workforcemgmt.event.TaskChangeType;
+import com.workforcemgmt.model.Comment;
+
+/**
+ * DTO for a task change pushed to live board subscribers. The task is null for deletions;
+ * the comment is set for COMMENT_ADDED.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskStreamEventDto {
+    private TaskChangeType type;
+    private String taskId;
+    private long version;
+    private long sequence;
+    private TaskDto task;
+    private Comment comment;
+
+    public TaskStreamEventDto() {}
+
+    public TaskStreamEventDto(TaskChangeType type, String taskId, long version, long sequence, TaskDto task, Comment comment) {
+        this.type = type;
+        this.taskId = taskId;
+        this.version = version;
+        this.sequence = sequence;
+        this.task = task;
+        this.comment = comment;
+    }
+
+    // Getters and Setters
+    public TaskChangeType getType() { return type; }
+    public void setType(TaskChangeType type) { this.type = type; }
+
+    public String getTaskId() { return taskId; }
+    public void setTaskId(String taskId) { this.taskId = taskId; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public long getSequence() { return sequence; }
+    public void setSequence(long sequence) { this.sequence = sequence; }
+
+    public TaskDto getTask() { return task; }
+    public void setTask(TaskDto task) { this.task = task; }
+
+    public Comment getComment() { return comment; }
+    public void setComment(Comment comment) { this.comment = comment; }
+}
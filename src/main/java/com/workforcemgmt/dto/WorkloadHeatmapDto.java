@@ -0,0 +1,39 @@
+package com.workforcemgmt.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for the per-staff daily workload heatmap. Rows share the window, so each row is a plain
+ * array of counts indexed by day offset from {@code from}.
+ */
+@Schema(description = "Active tasks per staff member per day")
+public class WorkloadHeatmapDto {
+    @Schema(description = "First day of the window", example = "2025-08-04")
+    private LocalDate from;
+
+    @Schema(description = "Last day of the window", example = "2025-08-10")
+    private LocalDate to;
+
+    private List<StaffWorkloadDto> staff;
+
+    public WorkloadHeatmapDto() {}
+
+    public WorkloadHeatmapDto(LocalDate from, LocalDate to, List<StaffWorkloadDto> staff) {
+        this.from = from;
+        this.to = to;
+        this.staff = staff;
+    }
+
+    // Getters and Setters
+    public LocalDate getFrom() { return from; }
+    public void setFrom(LocalDate from) { this.from = from; }
+
+    public LocalDate getTo() { return to; }
+    public void setTo(LocalDate to) { this.to = to; }
+
+    public List<StaffWorkloadDto> getStaff() { return staff; }
+    public void setStaff(List<StaffWorkloadDto> staff) { this.staff = staff; }
+}
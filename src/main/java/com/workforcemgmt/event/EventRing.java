@@ -0,0 +1,81 @@
+package com.workforcemgmt.event;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer for many producers and a single consumer. Each slot carries a
+ * sequence stamp: producers claim a position with a CAS on the tail and publish by advancing the
+ * slot's stamp, so a full ring rejects new elements instead of blocking the publishing thread.
+ */
+public final class EventRing<E> {
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray stamps;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    public EventRing(int capacity) {
+        int size = capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.stamps = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            stamps.set(i, i);
+        }
+    }
+
+    /**
+     * Publish an element; any thread
+     *
+     * @return false when the ring is full and the element was not added
+     */
+    public boolean offer(E element) {
+        return publish(element) >= 0;
+    }
+
+    /**
+     * Publish an element; any thread
+     *
+     * @return the zero-based position the element was published at, the order the consumer will
+     *         see it in, or -1 when the ring is full
+     */
+    public long publish(E element) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long stamp = stamps.get(index);
+            if (stamp == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, element);
+                    stamps.set(index, position + 1);
+                    return position;
+                }
+            } else if (stamp < position) {
+                // The consumer has not freed this slot since the previous lap
+                return -1;
+            }
+            // Another producer claimed the position first, retry with the new tail
+        }
+    }
+
+    /**
+     * Take the oldest published element, or null when none is ready; consumer thread only
+     */
+    public E poll() {
+        int index = (int) (head & mask);
+        if (stamps.get(index) != head + 1) {
+            return null;
+        }
+        E element = slots.get(index);
+        slots.lazySet(index, null);
+        stamps.set(index, head + mask + 1);
+        head++;
+        return element;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,28 @@
+package com.workforcemgmt.event;
+
+import com.workforcemgmt.model.Staff;
+
+/**
+ * Application event published after every staff mutation. The staff member is null for deletions.
+ */
+public class StaffChangedEvent {
+    private final String staffId;
+    private final Staff staff;
+    private final long sequence;
+
+    public StaffChangedEvent(String staffId, Staff staff, long sequence) {
+        this.staffId = staffId;
+        this.staff = staff;
+        this.sequence = sequence;
+    }
+
+    // Getters
+    public String getStaffId() { return staffId; }
+
+    public Staff getStaff() { return staff; }
+
+    /**
+     * Position of this change in the global change sequence
+     */
+    public long getSequence() { return sequence; }
+}
@@ -0,0 +1,16 @@
+package com.workforcemgmt.event;
+
+/**
+ * Enumeration of the kinds of task mutations published by the task service
+ */
+public enum TaskChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    CANCELLED,
+    REASSIGNED,
+    STATUS_CHANGED,
+    PRIORITY_CHANGED,
+    COMMENT_ADDED,
+    ESCALATED
+}
@@ -0,0 +1,68 @@
+package com.workforcemgmt.event;
+
+import com.workforcemgmt.model.Comment;
+import com.workforcemgmt.model.Task;
+
+/**
+ * Application event published after every task mutation, once the task store and indexes
+ * reflect the change. The task is null for deletions; the comment is set when the mutation
+ * added one. Activity entries are written asynchronously and are not part of the event.
+ * When the mutation moved the task to another staff member, the previous assignee and their
+ * department are kept, so whoever was following the task before hears that it left.
+ */
+public class TaskChangedEvent {
+    private final String taskId;
+    private final Task task;
+    private final TaskChangeType type;
+    private final long version;
+    private final long sequence;
+    private final Comment comment;
+    private final String previousStaffId;
+    private final String previousDepartment;
+
+    public TaskChangedEvent(String taskId, Task task, TaskChangeType type, long version, long sequence) {
+        this(taskId, task, type, version, sequence, null);
+    }
+
+    public TaskChangedEvent(String taskId, Task task, TaskChangeType type, long version, long sequence, Comment comment) {
+        this(taskId, task, type, version, sequence, comment, null, null);
+    }
+
+    public TaskChangedEvent(String taskId, Task task, TaskChangeType type, long version, long sequence, Comment comment,
+                            String previousStaffId, String previousDepartment) {
+        this.taskId = taskId;
+        this.task = task;
+        this.type = type;
+        this.version = version;
+        this.sequence = sequence;
+        this.comment = comment;
+        this.previousStaffId = previousStaffId;
+        this.previousDepartment = previousDepartment;
+    }
+
+    // Getters
+    public String getTaskId() { return taskId; }
+
+    public Task getTask() { return task; }
+
+    public TaskChangeType getType() { return type; }
+
+    public long getVersion() { return version; }
+
+    /**
+     * Position of this change in the global change sequence shared with staff changes
+     */
+    public long getSequence() { return sequence; }
+
+    public Comment getComment() { return comment; }
+
+    /**
+     * Assignee before this change, null unless the change moved the task to someone else
+     */
+    public String getPreviousStaffId() { return previousStaffId; }
+
+    /**
+     * Department of the previous assignee, null when unknown or not moved
+     */
+    public String getPreviousDepartment() { return previousDepartment; }
+}
@@ -0,0 +1,10 @@
+package com.workforcemgmt.exception;
+
+/**
+ * Exception thrown when a conditional request's precondition no longer holds
+ */
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
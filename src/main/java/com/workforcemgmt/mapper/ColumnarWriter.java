@@ -0,0 +1,209 @@
+package com.workforcemgmt.mapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writer of a compact columnar file in the spirit of Parquet. Rows are buffered into row groups
+ * of a fixed size; each full group is written column by column, so only one group is ever held in
+ * memory, and the footer at the end lets readers locate every group without scanning.
+ *
+ * <pre>
+ * file      = "WFC1" rowGroup* footer footerLength:int32 "WFC1"
+ * rowGroup  = chunk per column, in column order
+ * chunk     = encoding:u8 length:varint body
+ *   0 dictionary (STRING): entries:varint (length:varint utf8)* then one id:varint per row, 0 for null
+ *   1 delta (LONG, DATE, TIMESTAMP): presence bitmap, one bit per row (LSB first), then one
+ *     zigzag varint per present value, each the difference to the previous present value
+ * footer    = columns:varint (name:string type:u8)* rowGroups:varint (offset:varint rows:varint)* totalRows:varint
+ * </pre>
+ * Integers are big-endian, varints unsigned LEB128. DATE is the epoch day, TIMESTAMP microseconds
+ * since the epoch in UTC, and the type byte is the {@link ColumnType} ordinal.
+ */
+public final class ColumnarWriter implements TableWriter {
+    private static final byte[] MAGIC = "WFC1".getBytes(StandardCharsets.US_ASCII);
+    private static final int DICTIONARY = 0;
+    private static final int DELTA = 1;
+
+    private final OutputStream output;
+    private final List<Column> columns;
+    private final Object[][] group;
+    private final Bytes chunk = new Bytes();
+    private final Bytes header = new Bytes();
+    private final List<long[]> groupIndex = new ArrayList<>();
+    private int rows;
+    private long totalRows;
+    private long bytesWritten;
+
+    public ColumnarWriter(List<Column> columns, OutputStream output, int rowGroupSize) throws IOException {
+        this.output = output;
+        this.columns = List.copyOf(columns);
+        this.group = new Object[columns.size()][Math.max(1, rowGroupSize)];
+        write(MAGIC, MAGIC.length);
+    }
+
+    @Override
+    public void writeRow(Object[] values) throws IOException {
+        for (int column = 0; column < group.length; column++) {
+            group[column][rows] = values[column];
+        }
+        if (++rows == group[0].length) {
+            flushGroup();
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        flushGroup();
+        Bytes footer = new Bytes();
+        footer.varint(columns.size());
+        for (Column column : columns) {
+            footer.string(column.name());
+            footer.write(column.type().ordinal());
+        }
+        footer.varint(groupIndex.size());
+        for (long[] entry : groupIndex) {
+            footer.varint(entry[0]);
+            footer.varint(entry[1]);
+        }
+        footer.varint(totalRows);
+        write(footer.bytes, footer.size);
+        byte[] length = {(byte) (footer.size >>> 24), (byte) (footer.size >>> 16), (byte) (footer.size >>> 8), (byte) footer.size};
+        write(length, length.length);
+        write(MAGIC, MAGIC.length);
+        output.flush();
+    }
+
+    @Override
+    public long bytesWritten() {
+        return bytesWritten;
+    }
+
+    private void flushGroup() throws IOException {
+        if (rows == 0) {
+            return;
+        }
+        groupIndex.add(new long[] {bytesWritten, rows});
+        for (int column = 0; column < group.length; column++) {
+            chunk.clear();
+            int encoding = columns.get(column).type() == ColumnType.STRING
+                ? encodeDictionary(group[column])
+                : encodeDelta(group[column], columns.get(column).type());
+            header.clear();
+            header.write(encoding);
+            header.varint(chunk.size);
+            write(header.bytes, header.size);
+            write(chunk.bytes, chunk.size);
+            // Let the group's values be collected before the next one fills up
+            Arrays.fill(group[column], 0, rows, null);
+        }
+        totalRows += rows;
+        rows = 0;
+    }
+
+    private int encodeDictionary(Object[] values) {
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> entries = new ArrayList<>();
+        int[] rowIds = new int[rows];
+        for (int row = 0; row < rows; row++) {
+            if (values[row] != null) {
+                rowIds[row] = ids.computeIfAbsent((String) values[row], value -> {
+                    entries.add(value);
+                    return entries.size();
+                });
+            }
+        }
+        chunk.varint(entries.size());
+        for (String entry : entries) {
+            chunk.string(entry);
+        }
+        for (int row = 0; row < rows; row++) {
+            chunk.varint(rowIds[row]);
+        }
+        return DICTIONARY;
+    }
+
+    private int encodeDelta(Object[] values, ColumnType type) {
+        for (int start = 0; start < rows; start += 8) {
+            int bits = 0;
+            for (int row = start; row < Math.min(rows, start + 8); row++) {
+                if (values[row] != null) {
+                    bits |= 1 << (row - start);
+                }
+            }
+            chunk.write(bits);
+        }
+        long previous = 0;
+        for (int row = 0; row < rows; row++) {
+            if (values[row] != null) {
+                long value = toLong(values[row], type);
+                long delta = value - previous;
+                chunk.varint((delta << 1) ^ (delta >> 63));
+                previous = value;
+            }
+        }
+        return DELTA;
+    }
+
+    private static long toLong(Object value, ColumnType type) {
+        return switch (type) {
+            case DATE -> ((LocalDate) value).toEpochDay();
+            case TIMESTAMP -> {
+                LocalDateTime timestamp = (LocalDateTime) value;
+                yield timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + timestamp.getNano() / 1_000;
+            }
+            default -> (Long) value;
+        };
+    }
+
+    private void write(byte[] bytes, int length) throws IOException {
+        output.write(bytes, 0, length);
+        bytesWritten += length;
+    }
+
+    /**
+     * Growable byte buffer, reused for every chunk so it only grows to the largest one
+     */
+    private static final class Bytes {
+        private byte[] bytes = new byte[4096];
+        private int size;
+
+        void clear() {
+            size = 0;
+        }
+
+        void write(int b) {
+            if (size == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            bytes[size++] = (byte) b;
+        }
+
+        void varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void string(String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            varint(utf8.length);
+            if (size + utf8.length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + utf8.length));
+            }
+            System.arraycopy(utf8, 0, bytes, size, utf8.length);
+            size += utf8.length;
+        }
+    }
+}
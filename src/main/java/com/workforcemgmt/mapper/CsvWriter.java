@@ -0,0 +1,94 @@
+package com.workforcemgmt.mapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV writer, the counterpart of {@link CsvReader}: a header row of column names, then
+ * one line per row with CRLF line ends. Fields containing a comma, quote or line break are quoted;
+ * nulls are empty fields. Output goes through a fixed-size buffer.
+ */
+public final class CsvWriter implements TableWriter {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final OutputStream output;
+    private final int columnCount;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final StringBuilder line = new StringBuilder();
+    private int position;
+    private long bytesWritten;
+
+    public CsvWriter(List<Column> columns, OutputStream output) throws IOException {
+        this.output = output;
+        this.columnCount = columns.size();
+        writeRow(columns.stream().map(Column::name).toArray());
+    }
+
+    @Override
+    public void writeRow(Object[] values) throws IOException {
+        line.setLength(0);
+        for (int i = 0; i < columnCount; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            if (values[i] != null) {
+                appendField(values[i].toString());
+            }
+        }
+        line.append("\r\n");
+        write(line.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void finish() throws IOException {
+        flushBuffer();
+        output.flush();
+    }
+
+    @Override
+    public long bytesWritten() {
+        return bytesWritten + position;
+    }
+
+    private void appendField(String value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.length - position) {
+            flushBuffer();
+            if (bytes.length > buffer.length) {
+                output.write(bytes);
+                bytesWritten += bytes.length;
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void flushBuffer() throws IOException {
+        output.write(buffer, 0, position);
+        bytesWritten += position;
+        position = 0;
+    }
+}
@@ -0,0 +1,50 @@
+package com.workforcemgmt.mapper;
+
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * File formats of the task export
+ */
+public enum ExportFormat {
+    CSV(MediaType.parseMediaType("text/csv"), "csv"),
+    /** See {@link ColumnarWriter} for the layout */
+    COLUMNAR(MediaType.parseMediaType("application/x-workforce-columnar"), "wfc");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() { return mediaType; }
+
+    public String getExtension() { return extension; }
+
+    public TableWriter open(List<TableWriter.Column> columns, OutputStream output, int rowGroupSize) throws IOException {
+        return switch (this) {
+            case CSV -> new CsvWriter(columns, output);
+            case COLUMNAR -> new ColumnarWriter(columns, output, rowGroupSize);
+        };
+    }
+
+    /**
+     * The format named by a request parameter, CSV when absent
+     */
+    public static ExportFormat of(String name) {
+        if (name == null || name.isBlank()) {
+            return CSV;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown export format '" + name + "', expected csv or columnar");
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.workforcemgmt.mapper;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+/**
+ * Upload encodings accepted by the bulk import endpoints
+ */
+public enum ImportFormat {
+    /** Header row naming the fields, then one record per row */
+    CSV(MediaType.parseMediaType("text/csv")),
+    /** One JSON object per line */
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"));
+
+    public static final String CSV_VALUE = "text/csv";
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+
+    private final MediaType mediaType;
+
+    ImportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() { return mediaType; }
+
+    /**
+     * The format of a request's Content-Type
+     */
+    public static ImportFormat of(String contentType) {
+        if (contentType != null) {
+            try {
+                MediaType requested = MediaType.parseMediaType(contentType);
+                for (ImportFormat format : values()) {
+                    if (format.mediaType.includes(requested)) {
+                        return format;
+                    }
+                }
+            } catch (InvalidMediaTypeException e) {
+                // Reported below like any other unsupported type
+            }
+        }
+        throw new IllegalArgumentException("Unsupported import content type '" + contentType + "', expected "
+                                           + CSV_VALUE + " or " + NDJSON_VALUE);
+    }
+}
@@ -0,0 +1,82 @@
+package com.workforcemgmt.mapper;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Ordered set of named fields to render for a type, selected from a catalog of field accessors.
+ * Only the selected accessors are ever invoked, so unrequested fields cost nothing to produce.
+ */
+public final class Projection<T> {
+    private final Map<String, Function<T, ?>> catalog;
+    private final List<String> names;
+    private final List<Function<T, ?>> accessors;
+
+    private Projection(Map<String, Function<T, ?>> catalog, List<String> names) {
+        this.catalog = catalog;
+        this.names = List.copyOf(names);
+        this.accessors = names.stream().<Function<T, ?>>map(catalog::get).toList();
+    }
+
+    /**
+     * Projection of every field in the catalog, in catalog order
+     */
+    public static <T> Projection<T> of(LinkedHashMap<String, Function<T, ?>> catalog) {
+        Map<String, Function<T, ?>> fields = Collections.unmodifiableMap(new LinkedHashMap<>(catalog));
+        return new Projection<>(fields, new ArrayList<>(fields.keySet()));
+    }
+
+    /**
+     * Narrow to the named fields, kept in catalog order
+     *
+     * @throws IllegalArgumentException if a name is not in the catalog
+     */
+    public Projection<T> select(Collection<String> fieldNames) {
+        for (String name : fieldNames) {
+            if (!catalog.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown field '" + name + "', expected one of " + catalog.keySet());
+            }
+        }
+        List<String> selected = catalog.keySet().stream()
+            .filter(fieldNames::contains)
+            .toList();
+        return new Projection<>(catalog, selected);
+    }
+
+    /**
+     * Narrow to a comma-separated field list; null or blank selects everything
+     */
+    public Projection<T> select(String fieldList) {
+        if (fieldList == null || fieldList.isBlank()) {
+            return this;
+        }
+        return select(parseList(fieldList));
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    public String name(int index) {
+        return names.get(index);
+    }
+
+    public Object value(int index, T source) {
+        return accessors.get(index).apply(source);
+    }
+
+    /**
+     * Split a comma-separated request parameter into trimmed, non-empty names
+     */
+    public static Set<String> parseList(String list) {
+        Set<String> names = new LinkedHashSet<>();
+        if (list != null) {
+            for (String name : list.split(",")) {
+                if (!name.isBlank()) {
+                    names.add(name.trim());
+                }
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,83 @@
+package com.workforcemgmt.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes projected objects straight to a Jackson generator, field by field, without building DTOs.
+ * Binary formats use copies of the application's ObjectMapper, so dates and nested values are
+ * encoded with the same configuration as JSON.
+ */
+@Component
+public class ProjectionWriter {
+    private final Map<ResponseFormat, ObjectMapper> mappers = new EnumMap<>(ResponseFormat.class);
+
+    public ProjectionWriter(ObjectMapper objectMapper) {
+        mappers.put(ResponseFormat.JSON, objectMapper);
+        mappers.put(ResponseFormat.CBOR, objectMapper.copyWith(new CBORFactory()));
+        mappers.put(ResponseFormat.SMILE, objectMapper.copyWith(new SmileFactory()));
+    }
+
+    public <T> byte[] write(T source, Projection<T> projection) {
+        return write(source, projection, ResponseFormat.JSON);
+    }
+
+    public <T> byte[] writeArray(List<T> sources, Projection<T> projection) {
+        return writeArray(sources, projection, ResponseFormat.JSON);
+    }
+
+    public <T> byte[] write(T source, Projection<T> projection, ResponseFormat format) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 * projection.size());
+        try (JsonGenerator generator = createGenerator(out, format)) {
+            writeObject(generator, source, projection);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public <T> byte[] writeArray(List<T> sources, Projection<T> projection, ResponseFormat format) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(2 + sources.size() * 32 * projection.size());
+        try (JsonGenerator generator = createGenerator(out, format)) {
+            generator.writeStartArray();
+            for (T source : sources) {
+                writeObject(generator, source, projection);
+            }
+            generator.writeEndArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private JsonGenerator createGenerator(ByteArrayOutputStream out, ResponseFormat format) throws IOException {
+        return mappers.get(format).getFactory().createGenerator(out);
+    }
+
+    private <T> void writeObject(JsonGenerator generator, T source, Projection<T> projection) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < projection.size(); i++) {
+            generator.writeFieldName(projection.name(i));
+            Object value = projection.value(i, source);
+            if (value instanceof String text) {
+                generator.writeString(text);
+            } else if (value instanceof Enum<?> constant) {
+                generator.writeString(constant.name());
+            } else {
+                // Dates and nested collections go through the application's configured serializers
+                generator.writeObject(value);
+            }
+        }
+        generator.writeEndObject();
+    }
+}
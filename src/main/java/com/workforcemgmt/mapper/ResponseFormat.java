@@ -0,0 +1,62 @@
+package com.workforcemgmt.mapper;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+/**
+ * Wire encodings available for pre-serialized task and staff responses
+ */
+public enum ResponseFormat {
+    JSON(MediaType.APPLICATION_JSON, ""),
+    CBOR(MediaType.parseMediaType("application/cbor"), "-cbor"),
+    SMILE(MediaType.parseMediaType("application/x-jackson-smile"), "-smile");
+
+    private final MediaType mediaType;
+    private final String eTagSuffix;
+
+    ResponseFormat(MediaType mediaType, String eTagSuffix) {
+        this.mediaType = mediaType;
+        this.eTagSuffix = eTagSuffix;
+    }
+
+    public MediaType getMediaType() { return mediaType; }
+
+    /**
+     * Distinguishes strong ETags of the same resource version in different encodings
+     */
+    public String getETagSuffix() { return eTagSuffix; }
+
+    /**
+     * Pick the format with the highest quality value in the Accept header, JSON when absent or unmatched
+     */
+    public static ResponseFormat negotiate(WebRequest webRequest) {
+        String accept = webRequest.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> acceptedTypes;
+        try {
+            acceptedTypes = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+
+        ResponseFormat best = JSON;
+        double bestQuality = -1;
+        for (MediaType acceptedType : acceptedTypes) {
+            for (ResponseFormat format : values()) {
+                // Wildcards match JSON first, so */* keeps the default encoding
+                if (acceptedType.includes(format.mediaType) && acceptedType.getQualityValue() > bestQuality) {
+                    best = format;
+                    bestQuality = acceptedType.getQualityValue();
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+}
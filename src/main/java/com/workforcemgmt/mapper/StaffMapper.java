@@ -0,0 +1,46 @@
+package com.workforcemgmt.mapper;
+
+import com.workforcemgmt.dto.StaffDto;
+import com.workforcemgmt.model.Staff;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.function.Function;
+
+/**
+ * Mapper for converting between Staff entities and DTOs
+ */
+@Component
+public class StaffMapper {
+    private final Projection<Staff> staffFields;
+
+    public StaffMapper() {
+        LinkedHashMap<String, Function<Staff, ?>> fields = new LinkedHashMap<>();
+        fields.put("id", Staff::getId);
+        fields.put("name", Staff::getName);
+        fields.put("email", Staff::getEmail);
+        fields.put("department", Staff::getDepartment);
+        this.staffFields = Projection.of(fields);
+    }
+
+    /**
+     * Projection catalog matching the fields of {@link StaffDto}
+     */
+    public Projection<Staff> staffFields() {
+        return staffFields;
+    }
+
+    public StaffDto staffToStaffDto(Staff staff) {
+        if (staff == null) {
+            return null;
+        }
+        return new StaffDto(staff.getId(), staff.getName(), staff.getEmail(), staff.getDepartment());
+    }
+
+    public Staff staffDtoToStaff(StaffDto staffDto) {
+        if (staffDto == null) {
+            return null;
+        }
+        return new Staff(staffDto.getId(), staffDto.getName(), staffDto.getEmail(), staffDto.getDepartment());
+    }
+}
@@ -0,0 +1,41 @@
+package com.workforcemgmt.mapper;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Row-at-a-time writer of a table with a fixed set of typed columns, buffering a bounded amount
+ * of output. Values are given in column order and may be null.
+ */
+public interface TableWriter {
+
+    void writeRow(Object[] values) throws IOException;
+
+    /**
+     * Write whatever is still buffered and any trailer; the underlying stream stays open
+     */
+    void finish() throws IOException;
+
+    /**
+     * Bytes written to the underlying stream so far
+     */
+    long bytesWritten();
+
+    enum ColumnType {
+        STRING(String.class),
+        LONG(Long.class),
+        DATE(LocalDate.class),
+        TIMESTAMP(LocalDateTime.class);
+
+        private final Class<?> valueType;
+
+        ColumnType(Class<?> valueType) {
+            this.valueType = valueType;
+        }
+
+        public Class<?> getValueType() { return valueType; }
+    }
+
+    record Column(String name, ColumnType type) {}
+}
@@ -0,0 +1,93 @@
+package com.workforcemgmt.mapper;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.workforcemgmt.dto.TaskDto;
+import com.workforcemgmt.event.TaskChangedEvent;
+import com.workforcemgmt.model.Task;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of serialized {@link TaskDto} JSON per task, keyed by task id and version. Each task is
+ * mapped and serialized once per change; list responses are assembled by concatenating the cached
+ * fragments into a single JSON array. Entries also remember the staff name they were rendered
+ * with, so renaming a staff member only re-renders that member's tasks, on their next read.
+ */
+@Component
+public class TaskJsonCache {
+    private final Map<String, CachedJson> cache = new ConcurrentHashMap<>();
+    private final TaskMapper taskMapper;
+    private final ObjectWriter taskDtoWriter;
+
+    public TaskJsonCache(TaskMapper taskMapper, ObjectMapper objectMapper) {
+        this.taskMapper = taskMapper;
+        this.taskDtoWriter = objectMapper.writerFor(TaskDto.class);
+    }
+
+    /**
+     * Serialized TaskDto for the task's current version
+     */
+    public byte[] taskJson(Task task) {
+        // Read the version before mapping: if the task changes meanwhile, the entry is merely refreshed on the next read
+        long version = task.getVersion();
+        String staffName = taskMapper.assignedStaffName(task);
+        CachedJson cached = cache.get(task.getId());
+        if (cached != null && cached.version() == version && Objects.equals(cached.staffName(), staffName)) {
+            return cached.json();
+        }
+
+        byte[] json = serialize(taskMapper.taskToTaskDto(task));
+        // Only the entry of a newer task version wins; for the same version the latest render does
+        cache.merge(task.getId(), new CachedJson(version, staffName, json),
+                    (existing, fresh) -> existing.version() > fresh.version() ? existing : fresh);
+        return json;
+    }
+
+    /**
+     * JSON array of the tasks' DTOs, built from cached fragments with a single allocation
+     */
+    public byte[] taskArrayJson(List<Task> tasks) {
+        byte[][] fragments = new byte[tasks.size()][];
+        int length = 2 + Math.max(0, tasks.size() - 1);
+        for (int i = 0; i < fragments.length; i++) {
+            fragments[i] = taskJson(tasks.get(i));
+            length += fragments[i].length;
+        }
+
+        byte[] body = new byte[length];
+        int position = 0;
+        body[position++] = '[';
+        for (int i = 0; i < fragments.length; i++) {
+            if (i > 0) {
+                body[position++] = ',';
+            }
+            System.arraycopy(fragments[i], 0, body, position, fragments[i].length);
+            position += fragments[i].length;
+        }
+        body[position] = ']';
+        return body;
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        cache.remove(event.getTaskId());
+    }
+
+    private byte[] serialize(TaskDto taskDto) {
+        try {
+            return taskDtoWriter.writeValueAsBytes(taskDto);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record CachedJson(long version, String staffName, byte[] json) {}
+}
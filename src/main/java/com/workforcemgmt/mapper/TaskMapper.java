@@ -3,16 +3,76 @@ package com.workforcemgmt.mapper;
 import com.workforcemgmt.dto.TaskDto;
 import com.workforcemgmt.dto.TaskDetailsDto;
 import com.workforcemgmt.model.Task;
+import com.workforcemgmt.service.StaffService;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
- * Mapper for converting between Task entities and DTOs
+ * Mapper for converting between Task entities and DTOs. Tasks only hold the id of their assigned
+ * staff member; the name is looked up in the current staff directory while mapping, so renames
+ * show up in every task without rewriting any of them.
  */
 @Component
 public class TaskMapper {
+    private final Projection<Task> taskFields;
+    private final Projection<Task> taskDetailsFields;
+    private final StaffService staffService;
+
+    public TaskMapper(StaffService staffService) {
+        this.staffService = staffService;
+        LinkedHashMap<String, Function<Task, ?>> fields = new LinkedHashMap<>();
+        fields.put("id", Task::getId);
+        fields.put("title", Task::getTitle);
+        fields.put("description", Task::getDescription);
+        fields.put("status", Task::getStatus);
+        fields.put("priority", Task::getPriority);
+        fields.put("assignedStaffId", Task::getAssignedStaffId);
+        fields.put("assignedStaffName", this::assignedStaffName);
+        fields.put("startDate", Task::getStartDate);
+        fields.put("dueDate", Task::getDueDate);
+        fields.put("createdAt", Task::getCreatedAt);
+        fields.put("updatedAt", Task::getUpdatedAt);
+        fields.put("createdBy", Task::getCreatedBy);
+        fields.put("customerReference", Task::getCustomerReference);
+        this.taskFields = Projection.of(fields);
+
+        fields.put("activityHistory", Task::getActivityHistory);
+        fields.put("comments", Task::getComments);
+        this.taskDetailsFields = Projection.of(fields);
+    }
+
+    /**
+     * Projection catalog matching the fields of {@link TaskDto}
+     */
+    public Projection<Task> taskFields() {
+        return taskFields;
+    }
+
+    /**
+     * Projection catalog matching the fields of {@link TaskDetailsDto}
+     */
+    public Projection<Task> taskDetailsFields() {
+        return taskDetailsFields;
+    }
+
+    /**
+     * Name of the task's staff member as of the current staff directory, null once they are deleted
+     */
+    public String assignedStaffName(Task task) {
+        return staffService.getDirectory().nameOf(task.getAssignedStaffId());
+    }
+
+    /**
+     * Version of the staff directory names are currently resolved from; a rendered task is only
+     * unchanged while both its own version and this one are
+     */
+    public long staffVersion() {
+        return staffService.getDirectory().version();
+    }
 
     public TaskDto taskToTaskDto(Task task) {
         if (task == null) {
@@ -26,7 +86,7 @@ public class TaskMapper {
             task.getStatus(),
             task.getPriority(),
             task.getAssignedStaffId(),
-            task.getAssignedStaffName(),
+            assignedStaffName(task),
             task.getStartDate(),
             task.getDueDate(),
             task.getCreatedAt(),
@@ -58,7 +118,7 @@ public class TaskMapper {
             task.getStatus(),
             task.getPriority(),
             task.getAssignedStaffId(),
-            task.getAssignedStaffName(),
+            assignedStaffName(task),
             task.getStartDate(),
             task.getDueDate(),
             task.getCreatedAt(),
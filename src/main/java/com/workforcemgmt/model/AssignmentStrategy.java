@@ -0,0 +1,8 @@
+package com.workforcemgmt.model;
+
+/**
+ * Enumeration of the ways a new task can be assigned when the caller does not name a staff member
+ */
+public enum AssignmentStrategy {
+    LEAST_LOADED
+}
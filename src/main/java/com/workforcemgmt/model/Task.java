@@ -2,8 +2,8 @@ package com.workforcemgmt.model;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Model representing a work task that can be assigned to staff members
@@ -15,7 +15,6 @@ public class Task {
     private TaskStatus status;
     private Priority priority;
     private String assignedStaffId;
-    private String assignedStaffName;
     private LocalDate startDate;
     private LocalDate dueDate;
     private LocalDateTime createdAt;
@@ -24,14 +23,15 @@ public class Task {
     private String customerReference;
     private List<ActivityEntry> activityHistory;
     private List<Comment> comments;
+    private volatile long version;
 
     public Task() {
-        this.activityHistory = new ArrayList<>();
-        this.comments = new ArrayList<>();
+        this.activityHistory = new CopyOnWriteArrayList<>();
+        this.comments = new CopyOnWriteArrayList<>();
     }
 
     public Task(String id, String title, String description, TaskStatus status, Priority priority,
-                String assignedStaffId, String assignedStaffName, LocalDate startDate, LocalDate dueDate,
+                String assignedStaffId, LocalDate startDate, LocalDate dueDate,
                 String createdBy, String customerReference) {
         this.id = id;
         this.title = title;
@@ -39,15 +39,14 @@ public class Task {
         this.status = status;
         this.priority = priority;
         this.assignedStaffId = assignedStaffId;
-        this.assignedStaffName = assignedStaffName;
         this.startDate = startDate;
         this.dueDate = dueDate;
         this.createdBy = createdBy;
         this.customerReference = customerReference;
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
-        this.activityHistory = new ArrayList<>();
-        this.comments = new ArrayList<>();
+        this.activityHistory = new CopyOnWriteArrayList<>();
+        this.comments = new CopyOnWriteArrayList<>();
     }
 
     // Getters and Setters
@@ -69,9 +68,6 @@ public class Task {
     public String getAssignedStaffId() { return assignedStaffId; }
     public void setAssignedStaffId(String assignedStaffId) { this.assignedStaffId = assignedStaffId; }
 
-    public String getAssignedStaffName() { return assignedStaffName; }
-    public void setAssignedStaffName(String assignedStaffName) { this.assignedStaffName = assignedStaffName; }
-
     public LocalDate getStartDate() { return startDate; }
     public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
 
@@ -95,4 +91,12 @@ public class Task {
 
     public List<Comment> getComments() { return comments; }
     public void setComments(List<Comment> comments) { this.comments = comments; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    /**
+     * Bump the version once a mutation is complete, so caches keyed by version never see a partial change
+     */
+    public long incrementVersion() { return ++version; }
 }
@@ -0,0 +1,31 @@
+package com.workforcemgmt.model;
+
+import java.util.function.Supplier;
+
+/**
+ * Outcome of an in-place task mutation: the task, the version the change produced, and the
+ * activity entry and comment (if any) it recorded. The activity entry is written in the
+ * background, so reading it waits for the writer.
+ */
+public class TaskMutation {
+    private final Task task;
+    private final long version;
+    private final Supplier<ActivityEntry> activity;
+    private final Comment comment;
+
+    public TaskMutation(Task task, long version, Supplier<ActivityEntry> activity, Comment comment) {
+        this.task = task;
+        this.version = version;
+        this.activity = activity;
+        this.comment = comment;
+    }
+
+    // Getters
+    public Task getTask() { return task; }
+
+    public long getVersion() { return version; }
+
+    public ActivityEntry getActivity() { return activity != null ? activity.get() : null; }
+
+    public Comment getComment() { return comment; }
+}
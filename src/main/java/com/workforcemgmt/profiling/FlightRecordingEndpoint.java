@@ -0,0 +1,164 @@
+package com.workforcemgmt.profiling;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded flight recordings on demand, for production where attaching a profiler is not an
+ * option. {@code POST /actuator/flightrecording} starts a recording with the JDK's "default"
+ * settings (or "profile") plus the task events, {@code GET} reports on it and {@code DELETE}
+ * stops it and returns the {@code .jfr} file. One recording runs at a time. It stops by itself
+ * after its duration, capped at {@code max-duration}, and keeps at most {@code max-size} on disk,
+ * dropping the oldest data first; a finished recording is still returned by {@code DELETE}.
+ *
+ * The file stays in the temporary directory until the next recording starts or the application
+ * stops. Summarize it with {@link RecordingAnalyzer}.
+ */
+@Component
+@WebEndpoint(id = "flightrecording")
+public class FlightRecordingEndpoint {
+    private static final List<String> TASK_EVENTS = List.of(TaskOperationEvent.NAME, TaskQueryEvent.NAME,
+                                                           TaskRenderEvent.NAME);
+
+    private final Duration defaultDuration;
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+    private final Duration eventThreshold;
+    private Recording recording;
+    private Path file;
+
+    public FlightRecordingEndpoint(@Value("${workforce.jfr.default-duration:60s}") Duration defaultDuration,
+                                   @Value("${workforce.jfr.max-duration:10m}") Duration maxDuration,
+                                   @Value("${workforce.jfr.max-size:100MB}") DataSize maxSize,
+                                   @Value("${workforce.jfr.event-threshold:0ms}") Duration eventThreshold) {
+        this.defaultDuration = defaultDuration;
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+        this.eventThreshold = eventThreshold;
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("state", recording.getState());
+        status.put("settings", recording.getName());
+        status.put("startedAt", recording.getStartTime());
+        status.put("stoppedAt", recording.getStopTime());
+        status.put("duration", recording.getDuration());
+        status.put("bytes", recording.getState() == RecordingState.RUNNING ? recording.getSize() : fileSize());
+        return status;
+    }
+
+    /**
+     * @param duration  how long to record, default {@code default-duration}, at most {@code max-duration}
+     * @param settings  JDK settings to start from, "default" (about 1% overhead) or "profile"
+     * @param threshold shortest task operation, query or render recorded, default {@code event-threshold}
+     */
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(@Nullable Duration duration,
+                                                                      @Nullable String settings,
+                                                                      @Nullable Duration threshold) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(status(), HttpStatus.CONFLICT.value());
+        }
+        Duration recordFor = duration != null ? duration : defaultDuration;
+        if (recordFor.isZero() || recordFor.isNegative()) {
+            return new WebEndpointResponse<>(Map.of("error", "duration must be positive"),
+                                             WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings != null ? settings : "default");
+        } catch (IOException | ParseException e) {
+            return new WebEndpointResponse<>(Map.of("error", "Unknown settings '" + settings + "', expected default or profile"),
+                                             WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+
+        discard();
+        try {
+            file = Files.createTempFile("workforce-", ".jfr");
+            recording = new Recording(configuration);
+            recording.setName(configuration.getName());
+            recording.setDuration(recordFor.compareTo(maxDuration) > 0 ? maxDuration : recordFor);
+            recording.setMaxSize(maxSize.toBytes());
+            recording.setToDisk(true);
+            recording.setDestination(file);
+            for (String event : TASK_EVENTS) {
+                recording.enable(event).withThreshold(threshold != null ? threshold : eventThreshold);
+            }
+            recording.start();
+        } catch (IOException e) {
+            discard();
+            throw new UncheckedIOException(e);
+        }
+        return new WebEndpointResponse<>(status(), WebEndpointResponse.STATUS_OK);
+    }
+
+    /**
+     * Stop the recording if it is still running and return it
+     */
+    @DeleteOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> stop() {
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        recording.close();
+        recording = null;
+        return new WebEndpointResponse<>(new FileSystemResource(file), WebEndpointResponse.STATUS_OK);
+    }
+
+    private long fileSize() {
+        try {
+            return file != null && Files.exists(file) ? Files.size(file) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    @PreDestroy
+    public synchronized void discard() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // Left in the temporary directory
+            }
+            file = null;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.workforcemgmt.profiling;
+
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Offline summary of a flight recording taken through {@link FlightRecordingEndpoint}: the slowest
+ * task operations with their parameters, rows scanned and the time their thread spent blocked on
+ * monitors or parked, then totals per operation, per query, per rendered view and per class
+ * blocked on. Only JDK classes are used, so it also runs straight from the source file:
+ * <pre>
+ * java src/main/java/com/workforcemgmt/profiling/RecordingAnalyzer.java recording.jfr [top]
+ * </pre>
+ * Blocking comes from the JDK's monitor and park events, which "default" settings record from
+ * 20 ms and "profile" settings from 10 ms.
+ */
+public final class RecordingAnalyzer {
+    // Event names are repeated here rather than referenced, keeping this file self-contained
+    private static final String TASK_OPERATION = "com.workforcemgmt.TaskOperation";
+    private static final String TASK_QUERY = "com.workforcemgmt.TaskQuery";
+    private static final String TASK_RENDER = "com.workforcemgmt.TaskRender";
+    private static final Map<String, String> BLOCKING_EVENTS = Map.of(
+        "jdk.JavaMonitorEnter", "monitorClass",
+        "jdk.JavaMonitorWait", "monitorClass",
+        "jdk.ThreadPark", "parkedClass");
+
+    private final List<Operation> operations = new ArrayList<>();
+    private final List<Query> queries = new ArrayList<>();
+    private final List<Render> renders = new ArrayList<>();
+    private final List<Blocking> blocking = new ArrayList<>();
+    private Instant first = Instant.MAX;
+    private Instant last = Instant.MIN;
+
+    private RecordingAnalyzer() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: RecordingAnalyzer <recording.jfr> [top]");
+            System.exit(2);
+        }
+        Path file = Path.of(args[0]);
+        int top = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        RecordingAnalyzer analyzer = new RecordingAnalyzer();
+        try (RecordingFile recording = new RecordingFile(file)) {
+            while (recording.hasMoreEvents()) {
+                analyzer.add(recording.readEvent());
+            }
+        }
+        analyzer.print(file, top);
+    }
+
+    private void add(RecordedEvent event) {
+        String type = event.getEventType().getName();
+        switch (type) {
+            case TASK_OPERATION -> operations.add(new Operation(event.getStartTime(), event.getEndTime(),
+                threadId(event), threadName(event), event.getString("operation"), event.getString("parameters"),
+                event.getLong("rowsScanned"), event.getLong("rowsReturned"), event.getInt("resultSize"),
+                event.getString("outcome")));
+            case TASK_QUERY -> queries.add(new Query(event.getDuration(), event.getString("query"),
+                event.getLong("rowsScanned"), event.getLong("rowsReturned"), event.getBoolean("parallel")));
+            case TASK_RENDER -> renders.add(new Render(event.getDuration(), event.getString("phase"),
+                event.getString("view"), event.getString("format"), event.getInt("tasks"), event.getLong("bytes")));
+            default -> {
+                String classField = BLOCKING_EVENTS.get(type);
+                if (classField == null) {
+                    return;
+                }
+                RecordedClass blockedOn = event.getClass(classField);
+                blocking.add(new Blocking(event.getStartTime(), event.getEndTime(), threadId(event),
+                                          blockedOn != null ? blockedOn.getName() : "unknown"));
+            }
+        }
+        if (event.getStartTime().isBefore(first)) {
+            first = event.getStartTime();
+        }
+        if (event.getEndTime().isAfter(last)) {
+            last = event.getEndTime();
+        }
+    }
+
+    private void print(Path file, int top) {
+        Map<Operation, List<Blocking>> blockedIn = attributeBlocking();
+        System.out.printf("%s: %d task operations, %d queries, %d renders over %s%n", file, operations.size(),
+                          queries.size(), renders.size(),
+                          operations.isEmpty() && queries.isEmpty() ? "-" : seconds(Duration.between(first, last)));
+
+        System.out.printf("%nSlowest task operations%n");
+        System.out.printf("%10s  %-32s %10s %10s %8s %10s  %-24s %s%n", "ms", "Operation", "Scanned", "Returned",
+                          "Result", "Blocked ms", "Thread", "Parameters");
+        operations.stream()
+            .sorted(Comparator.comparing(Operation::duration).reversed())
+            .limit(top)
+            .forEach(operation -> System.out.printf("%10.3f  %-32s %10d %10d %8d %10.3f  %-24s %s%n",
+                millis(operation.duration()), label(operation), operation.rowsScanned(), operation.rowsReturned(),
+                operation.resultSize(), millis(total(blockedIn.getOrDefault(operation, List.of()), Blocking::duration)),
+                operation.threadName(), operation.parameters()));
+
+        System.out.printf("%nTask operations%n");
+        System.out.printf("%-32s %8s %12s %10s %10s %10s %14s %8s%n", "Operation", "Calls", "Total ms", "Mean ms",
+                          "p99 ms", "Max ms", "Scanned/call", "Errors");
+        group(operations, Operation::operation).forEach((name, calls) -> {
+            Stats stats = Stats.of(calls, Operation::duration);
+            long scanned = calls.stream().mapToLong(Operation::rowsScanned).sum();
+            long errors = calls.stream().filter(call -> !"success".equals(call.outcome())).count();
+            System.out.printf("%-32s %8d %12.1f %10.3f %10.3f %10.3f %14.0f %8d%n", name, calls.size(),
+                              millis(stats.total()), millis(stats.mean()), millis(stats.p99()), millis(stats.max()),
+                              (double) scanned / calls.size(), errors);
+        });
+
+        System.out.printf("%nQueries%n");
+        System.out.printf("%-16s %8s %9s %12s %10s %10s %14s %14s %9s%n", "Query", "Runs", "Parallel", "Total ms",
+                          "Mean ms", "Max ms", "Scanned", "Returned", "Returned%");
+        group(queries, Query::query).forEach((name, runs) -> {
+            Stats stats = Stats.of(runs, Query::duration);
+            long scanned = runs.stream().mapToLong(Query::rowsScanned).sum();
+            long returned = runs.stream().mapToLong(Query::rowsReturned).sum();
+            System.out.printf("%-16s %8d %9d %12.1f %10.3f %10.3f %14d %14d %9.1f%n", name, runs.size(),
+                              runs.stream().filter(Query::parallel).count(), millis(stats.total()),
+                              millis(stats.mean()), millis(stats.max()), scanned, returned,
+                              scanned == 0 ? 0 : 100.0 * returned / scanned);
+        });
+
+        System.out.printf("%nRendering%n");
+        System.out.printf("%-14s %-28s %-16s %8s %12s %10s %10s %12s %12s%n", "Phase", "View", "Format", "Count",
+                          "Total ms", "Mean ms", "Max ms", "Mean tasks", "Mean bytes");
+        group(renders, render -> render.phase() + "\t" + render.view() + "\t"
+                                 + (render.format() != null ? render.format() : "-")).forEach((key, group) -> {
+            String[] parts = key.split("\t", -1);
+            Stats stats = Stats.of(group, Render::duration);
+            System.out.printf("%-14s %-28s %-16s %8d %12.1f %10.3f %10.3f %12.1f %12.0f%n", parts[0], parts[1],
+                              parts[2], group.size(), millis(stats.total()), millis(stats.mean()), millis(stats.max()),
+                              group.stream().mapToInt(Render::tasks).average().orElse(0),
+                              group.stream().mapToLong(Render::bytes).average().orElse(0));
+        });
+
+        System.out.printf("%nBlocked inside task operations%n");
+        System.out.printf("%-64s %8s %12s %10s  %s%n", "Class", "Events", "Total ms", "Max ms", "Operations");
+        Map<String, List<Operation>> operationsBlocked = new HashMap<>();
+        List<Blocking> attributed = new ArrayList<>();
+        blockedIn.forEach((operation, events) -> {
+            for (Blocking event : events) {
+                attributed.add(event);
+                operationsBlocked.computeIfAbsent(event.className(), name -> new ArrayList<>()).add(operation);
+            }
+        });
+        group(attributed, Blocking::className).entrySet().stream()
+            .sorted(Comparator.comparing(entry -> total(entry.getValue(), Blocking::duration), Comparator.reverseOrder()))
+            .forEach(entry -> {
+                Stats stats = Stats.of(entry.getValue(), Blocking::duration);
+                System.out.printf("%-64s %8d %12.1f %10.3f  %s%n", entry.getKey(), entry.getValue().size(),
+                                  millis(stats.total()), millis(stats.max()),
+                                  String.join(",", group(operationsBlocked.get(entry.getKey()), Operation::operation).keySet()));
+            });
+    }
+
+    /**
+     * Match each blocking event to the innermost task operation running on its thread at the time
+     */
+    private Map<Operation, List<Blocking>> attributeBlocking() {
+        Map<Long, NavigableMap<Instant, Operation>> byThread = new HashMap<>();
+        for (Operation operation : operations) {
+            // Later starts are nested inside earlier ones, so the floor entry is the innermost
+            byThread.computeIfAbsent(operation.threadId(), id -> new TreeMap<>())
+                .merge(operation.start(), operation, (a, b) -> a.end().isBefore(b.end()) ? a : b);
+        }
+        Map<Operation, List<Blocking>> blockedIn = new HashMap<>();
+        for (Blocking event : blocking) {
+            NavigableMap<Instant, Operation> threadOperations = byThread.get(event.threadId());
+            if (threadOperations == null) {
+                continue;
+            }
+            Map.Entry<Instant, Operation> enclosing = threadOperations.floorEntry(event.start());
+            if (enclosing != null && !enclosing.getValue().end().isBefore(event.end())) {
+                blockedIn.computeIfAbsent(enclosing.getValue(), operation -> new ArrayList<>()).add(event);
+            }
+        }
+        return blockedIn;
+    }
+
+    private static <T> Map<String, List<T>> group(List<T> events, Function<T, String> key) {
+        Map<String, List<T>> groups = new TreeMap<>();
+        for (T event : events) {
+            groups.computeIfAbsent(String.valueOf(key.apply(event)), name -> new ArrayList<>()).add(event);
+        }
+        return groups;
+    }
+
+    private static <T> Duration total(List<T> events, Function<T, Duration> duration) {
+        return events.stream().map(duration).reduce(Duration.ZERO, Duration::plus);
+    }
+
+    private static String label(Operation operation) {
+        return "success".equals(operation.outcome()) ? operation.operation()
+            : operation.operation() + " !" + operation.outcome();
+    }
+
+    private static long threadId(RecordedEvent event) {
+        RecordedThread thread = event.getThread();
+        return thread != null ? thread.getJavaThreadId() : -1;
+    }
+
+    private static String threadName(RecordedEvent event) {
+        RecordedThread thread = event.getThread();
+        return thread != null && thread.getJavaName() != null ? thread.getJavaName() : "unknown";
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1e6;
+    }
+
+    private static String seconds(Duration duration) {
+        return String.format("%.1f s", duration.toMillis() / 1000.0);
+    }
+
+    private record Operation(Instant start, Instant end, long threadId, String threadName, String operation,
+                             String parameters, long rowsScanned, long rowsReturned, int resultSize, String outcome) {
+        Duration duration() {
+            return Duration.between(start, end);
+        }
+    }
+
+    private record Query(Duration duration, String query, long rowsScanned, long rowsReturned, boolean parallel) {}
+
+    private record Render(Duration duration, String phase, String view, String format, int tasks, long bytes) {}
+
+    private record Blocking(Instant start, Instant end, long threadId, String className) {
+        Duration duration() {
+            return Duration.between(start, end);
+        }
+    }
+
+    private record Stats(Duration total, Duration mean, Duration p99, Duration max) {
+        static <T> Stats of(List<T> events, Function<T, Duration> duration) {
+            List<Duration> sorted = events.stream().map(duration).sorted().toList();
+            Duration total = sorted.stream().reduce(Duration.ZERO, Duration::plus);
+            return new Stats(total, total.dividedBy(sorted.size()),
+                             sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1), sorted.get(sorted.size() - 1));
+        }
+    }
+}
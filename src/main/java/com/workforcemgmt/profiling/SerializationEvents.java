@@ -0,0 +1,73 @@
+package com.workforcemgmt.profiling;
+
+import com.workforcemgmt.controller.TaskController;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Records the serialization of task DTOs written by a message converter as
+ * {@link TaskRenderEvent}s. The event begins when the body is handed to the converter and ends
+ * once the request is complete, so it covers encoding and copying into the response buffer.
+ * Bodies already encoded by the controller are recorded there and skipped here.
+ */
+@ControllerAdvice(assignableTypes = TaskController.class)
+public class SerializationEvents implements ResponseBodyAdvice<Object>, HandlerInterceptor, WebMvcConfigurer {
+    private static final String EVENT_ATTRIBUTE = SerializationEvents.class.getName() + ".event";
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        registry.addInterceptor(this).addPathPatterns("/api/tasks/**");
+    }
+
+    @Override
+    public boolean supports(@NonNull MethodParameter returnType,
+                            @NonNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return !ByteArrayHttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(@Nullable Object body, @NonNull MethodParameter returnType,
+                                  @NonNull MediaType selectedContentType,
+                                  @NonNull Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  @NonNull ServerHttpRequest request, @NonNull ServerHttpResponse response) {
+        if (body == null || !(request instanceof ServletServerHttpRequest servletRequest)) {
+            return body;
+        }
+        TaskRenderEvent event = new TaskRenderEvent();
+        if (event.isEnabled()) {
+            event.phase = TaskRenderEvent.SERIALIZATION;
+            event.view = body.getClass().getSimpleName();
+            event.format = selectedContentType.getSubtype();
+            event.tasks = 1;
+            servletRequest.getServletRequest().setAttribute(EVENT_ATTRIBUTE, event);
+            event.begin();
+        }
+        return body;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, @Nullable Exception ex) {
+        if (request.getAttribute(EVENT_ATTRIBUTE) instanceof TaskRenderEvent event) {
+            request.removeAttribute(EVENT_ATTRIBUTE);
+            event.end();
+            if (event.shouldCommit()) {
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.workforcemgmt.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for one {@code TaskService} call. The rows scanned and returned add up the
+ * queries the call ran on its own thread; a query answered from a shared or cached result scans
+ * nothing, so a call with a result but no rows scanned was served by the query coalescer.
+ */
+@Name(TaskOperationEvent.NAME)
+@Label("Task Operation")
+@Category({"Workforce", "Tasks"})
+@Description("A TaskService call with its parameters, the rows its queries scanned and the size of its result")
+@StackTrace(false)
+public class TaskOperationEvent extends Event {
+    public static final String NAME = "com.workforcemgmt.TaskOperation";
+
+    private static final ThreadLocal<TaskOperationEvent> CURRENT = new ThreadLocal<>();
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Parameters")
+    String parameters;
+
+    @Label("Rows Scanned")
+    long rowsScanned;
+
+    @Label("Rows Returned")
+    long rowsReturned;
+
+    @Label("Result Size")
+    @Description("Elements of a collection result, 0 for none, otherwise 1")
+    int resultSize;
+
+    @Label("Outcome")
+    @Description("success, or the simple name of the exception thrown")
+    String outcome;
+
+    /**
+     * Make this the event the current thread's queries are counted into, returning the one it replaces
+     */
+    TaskOperationEvent enter() {
+        TaskOperationEvent outer = CURRENT.get();
+        CURRENT.set(this);
+        return outer;
+    }
+
+    static void exit(TaskOperationEvent outer) {
+        if (outer == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(outer);
+        }
+    }
+
+    /**
+     * Count a query's rows into the operation running on this thread, if one is being recorded
+     */
+    static void addRows(long scanned, long returned) {
+        TaskOperationEvent event = CURRENT.get();
+        if (event != null) {
+            event.rowsScanned += scanned;
+            event.rowsReturned += returned;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.workforcemgmt.profiling;
+
+import com.workforcemgmt.dto.TaskQueryRequest;
+import com.workforcemgmt.model.Task;
+import com.workforcemgmt.service.TaskService;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.time.temporal.TemporalAccessor;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Records every public {@link TaskService} call as a {@link TaskOperationEvent} while a flight
+ * recording enables it. Without a recording a call costs one check of the event's enabled flag;
+ * parameters are only formatted for events that are committed.
+ *
+ * Parameters are written as {@code name=value}: text, numbers, dates and enums as themselves
+ * (long text cut short), query filters by the ones set, tasks by id, collections by size and
+ * anything else by type.
+ */
+@Component
+public class TaskOperationEvents implements BeanPostProcessor {
+    private static final int MAX_VALUE_LENGTH = 64;
+    private static final int MAX_PARAMETERS_LENGTH = 512;
+    private static final String[] NOT_RECORDED = new String[0];
+
+    private final boolean enabled;
+    private final Set<String> excluded;
+
+    public TaskOperationEvents(@Value("${workforce.jfr.task-operations.enabled:true}") boolean enabled,
+                               @Value("${workforce.jfr.task-operations.exclude:getModificationCount}") String excluded) {
+        this.enabled = enabled;
+        this.excluded = Arrays.stream(excluded.split(",")).map(String::trim).filter(e -> !e.isEmpty())
+            .collect(Collectors.toUnmodifiableSet());
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+        if (!enabled || AopUtils.getTargetClass(bean) != TaskService.class) {
+            return bean;
+        }
+        RecordingInterceptor interceptor = new RecordingInterceptor();
+        if (bean instanceof Advised advised) {
+            advised.addAdvice(interceptor);
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(interceptor);
+        return proxyFactory.getProxy(bean.getClass().getClassLoader());
+    }
+
+    private final class RecordingInterceptor implements MethodInterceptor {
+        private final Map<Method, String[]> parameterNames = new ConcurrentHashMap<>();
+
+        @Override
+        public Object invoke(@NonNull MethodInvocation invocation) throws Throwable {
+            TaskOperationEvent event = new TaskOperationEvent();
+            if (!event.isEnabled()) {
+                return invocation.proceed();
+            }
+            Method method = invocation.getMethod();
+            String[] names = parameterNames.computeIfAbsent(method, this::parameterNamesOf);
+            if (names == NOT_RECORDED) {
+                return invocation.proceed();
+            }
+            TaskOperationEvent outer = event.enter();
+            event.begin();
+            String outcome = "success";
+            Object result = null;
+            try {
+                result = invocation.proceed();
+                return result;
+            } catch (Throwable e) {
+                outcome = e.getClass().getSimpleName();
+                throw e;
+            } finally {
+                event.end();
+                TaskOperationEvent.exit(outer);
+                if (event.shouldCommit()) {
+                    event.operation = method.getName();
+                    event.parameters = describe(names, invocation.getArguments());
+                    event.resultSize = sizeOf(result);
+                    event.outcome = outcome;
+                    event.commit();
+                }
+            }
+        }
+
+        /**
+         * Parameter names of a recorded method, NOT_RECORDED for methods that are not recorded
+         */
+        private String[] parameterNamesOf(Method method) {
+            if (!Modifier.isPublic(method.getModifiers()) || method.getDeclaringClass() == Object.class
+                || excluded.contains(method.getName())) {
+                return NOT_RECORDED;
+            }
+            return Arrays.stream(method.getParameters()).map(Parameter::getName).toArray(String[]::new);
+        }
+    }
+
+    private static String describe(String[] names, Object[] arguments) {
+        StringBuilder parameters = new StringBuilder();
+        for (int i = 0; i < arguments.length && parameters.length() < MAX_PARAMETERS_LENGTH; i++) {
+            if (i > 0) {
+                parameters.append(", ");
+            }
+            parameters.append(names[i]).append('=').append(describe(arguments[i]));
+        }
+        if (parameters.length() > MAX_PARAMETERS_LENGTH) {
+            parameters.setLength(MAX_PARAMETERS_LENGTH - 3);
+            parameters.append("...");
+        }
+        return parameters.toString();
+    }
+
+    private static String describe(Object argument) {
+        if (argument == null) {
+            return "null";
+        }
+        if (argument instanceof Task task) {
+            return "Task " + task.getId();
+        }
+        if (argument instanceof TaskQueryRequest query) {
+            return query.toString();
+        }
+        if (argument instanceof Collection<?> collection) {
+            return collection.size() + " items";
+        }
+        if (argument instanceof CharSequence || argument instanceof Number || argument instanceof Boolean
+            || argument instanceof Enum<?> || argument instanceof TemporalAccessor) {
+            String value = argument.toString();
+            return value.length() > MAX_VALUE_LENGTH ? value.substring(0, MAX_VALUE_LENGTH - 3) + "..." : value;
+        }
+        return argument.getClass().getSimpleName();
+    }
+
+    private static int sizeOf(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,47 @@
+package com.workforcemgmt.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for one scan of the task store by the scan engine
+ */
+@Name(TaskQueryEvent.NAME)
+@Label("Task Query")
+@Category({"Workforce", "Tasks"})
+@Description("A scan of the task store: the named query, the rows it examined and returned, and whether it ran in parallel")
+@StackTrace(false)
+public class TaskQueryEvent extends Event {
+    public static final String NAME = "com.workforcemgmt.TaskQuery";
+
+    @Label("Query")
+    String query;
+
+    @Label("Rows Scanned")
+    long rowsScanned;
+
+    @Label("Rows Returned")
+    long rowsReturned;
+
+    @Label("Parallel")
+    boolean parallel;
+
+    /**
+     * End the scan, commit it when recorded and count its rows into the enclosing task operation
+     */
+    public void finish(String query, int scanned, int returned, boolean parallel) {
+        end();
+        if (shouldCommit()) {
+            this.query = query;
+            this.rowsScanned = scanned;
+            this.rowsReturned = returned;
+            this.parallel = parallel;
+            commit();
+        }
+        TaskOperationEvent.addRows(scanned, returned);
+    }
+}
@@ -0,0 +1,89 @@
+package com.workforcemgmt.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.Collection;
+import java.util.function.Supplier;
+
+/**
+ * Flight recorder event for turning tasks into a response body. Mapping builds DTOs from tasks;
+ * serialization encodes a DTO, or writes task lists and projections straight to bytes from the
+ * per-task JSON cache and the projection writer, which do both in one pass.
+ */
+@Name(TaskRenderEvent.NAME)
+@Label("Task Render")
+@Category({"Workforce", "Tasks"})
+@Description("Mapping tasks to DTOs or serializing a task response body")
+@StackTrace(false)
+public class TaskRenderEvent extends Event {
+    public static final String NAME = "com.workforcemgmt.TaskRender";
+    public static final String MAPPING = "mapping";
+    public static final String SERIALIZATION = "serialization";
+
+    @Label("Phase")
+    @Description("mapping or serialization")
+    String phase;
+
+    @Label("View")
+    @Description("What was rendered, e.g. TaskDetailsDto or TaskDto list")
+    String view;
+
+    @Label("Format")
+    String format;
+
+    @Label("Tasks")
+    int tasks;
+
+    @Label("Bytes")
+    @Description("Size of the body, 0 when written by a message converter")
+    @DataAmount
+    long bytes;
+
+    /**
+     * Map a task to a DTO, recording the time taken
+     */
+    public static <T> T mapping(Supplier<T> mapper) {
+        TaskRenderEvent event = new TaskRenderEvent();
+        if (!event.isEnabled()) {
+            return mapper.get();
+        }
+        event.begin();
+        T dto = mapper.get();
+        event.end();
+        if (event.shouldCommit() && dto != null) {
+            event.phase = MAPPING;
+            event.view = dto.getClass().getSimpleName();
+            event.tasks = dto instanceof Collection<?> collection ? collection.size() : 1;
+            event.commit();
+        }
+        return dto;
+    }
+
+    /**
+     * Write tasks to a body, recording the time taken and the size written
+     */
+    public static byte[] serialization(String view, String format, int tasks, Supplier<byte[]> writer) {
+        TaskRenderEvent event = new TaskRenderEvent();
+        if (!event.isEnabled()) {
+            return writer.get();
+        }
+        event.begin();
+        byte[] body = writer.get();
+        event.end();
+        if (event.shouldCommit()) {
+            event.phase = SERIALIZATION;
+            event.view = view;
+            event.format = format;
+            event.tasks = tasks;
+            event.bytes = body.length;
+            event.commit();
+        }
+        return body;
+    }
+}
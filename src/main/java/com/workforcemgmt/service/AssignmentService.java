@@ -0,0 +1,211 @@
+package com.workforcemgmt.service;
+
+import com.workforcemgmt.event.StaffChangedEvent;
+import com.workforcemgmt.event.TaskChangedEvent;
+import com.workforcemgmt.exception.ResourceNotFoundException;
+import com.workforcemgmt.model.Priority;
+import com.workforcemgmt.model.Staff;
+import com.workforcemgmt.model.Task;
+import com.workforcemgmt.model.TaskStatus;
+import com.workforcemgmt.store.TaskStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Picks staff for automatically assigned tasks. Keeps the load of every staff member, the summed
+ * priority weights of their active tasks, in one ordered set per department and one across all
+ * staff, so the least loaded member is the first element: O(log staff) to find and to update.
+ * Loads are maintained incrementally from task and staff change events, remembering what each
+ * task contributed so every change moves exactly its own weight.
+ *
+ * A pick reserves the task's weight on the chosen member until the task exists, so concurrent
+ * creations spread out instead of all landing on the same person.
+ */
+@Service
+public class AssignmentService {
+    private static final Comparator<StaffLoad> LEAST_LOADED =
+        Comparator.comparingLong((StaffLoad staffLoad) -> staffLoad.load).thenComparing(staffLoad -> staffLoad.staffId);
+
+    private final Map<Priority, Integer> weights = new EnumMap<>(Priority.class);
+    private final Map<String, StaffLoad> loadsByStaff = new HashMap<>();
+    private final Map<String, NavigableSet<StaffLoad>> byDepartment = new HashMap<>();
+    private final NavigableSet<StaffLoad> allStaff = new TreeSet<>(LEAST_LOADED);
+    private final Map<String, Contribution> contributions = new HashMap<>();
+
+    public AssignmentService(StaffService staffService, TaskStore taskStore,
+                             @Value("${workforce.assignment.weight.high:3}") int highWeight,
+                             @Value("${workforce.assignment.weight.medium:2}") int mediumWeight,
+                             @Value("${workforce.assignment.weight.low:1}") int lowWeight) {
+        weights.put(Priority.HIGH, highWeight);
+        weights.put(Priority.MEDIUM, mediumWeight);
+        weights.put(Priority.LOW, lowWeight);
+        // Changes made before this service existed, e.g. the sample staff, arrive as no events
+        for (Staff staff : staffService.getAllStaff()) {
+            staffChanged(staff.getId(), staff);
+        }
+        for (Task task : taskStore.snapshot()) {
+            taskChanged(task.getId(), task);
+        }
+    }
+
+    /**
+     * Choose the least loaded staff member, optionally within a department, and hold the weight of
+     * a task with the given priority against them until the reservation is released
+     */
+    public Reservation reserveLeastLoaded(String department, Priority priority) {
+        return reserveLeastLoaded(department, priority, null);
+    }
+
+    /**
+     * As {@link #reserveLeastLoaded(String, Priority)}, never choosing {@code excludedStaffId}
+     */
+    public synchronized Reservation reserveLeastLoaded(String department, Priority priority, String excludedStaffId) {
+        NavigableSet<StaffLoad> candidates = department != null ? byDepartment.get(department) : allStaff;
+        StaffLoad leastLoaded = candidates != null && !candidates.isEmpty() ? candidates.first() : null;
+        if (leastLoaded != null && leastLoaded.staffId.equals(excludedStaffId)) {
+            leastLoaded = candidates.higher(leastLoaded);
+        }
+        if (leastLoaded == null) {
+            throw new ResourceNotFoundException(department != null
+                ? "No staff members in department: " + department
+                : "No staff members to assign the task to");
+        }
+        int weight = weightOf(priority);
+        adjust(leastLoaded, weight);
+        return new Reservation(leastLoaded.staffId, weight);
+    }
+
+    /**
+     * Whether {@link #reserveLeastLoaded(String, Priority, String)} currently has anyone to choose
+     */
+    public synchronized boolean hasCandidate(String department, String excludedStaffId) {
+        NavigableSet<StaffLoad> candidates = department != null ? byDepartment.get(department) : allStaff;
+        if (candidates == null || candidates.isEmpty()) {
+            return false;
+        }
+        StaffLoad leastLoaded = candidates.first();
+        return !leastLoaded.staffId.equals(excludedStaffId) || candidates.higher(leastLoaded) != null;
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        taskChanged(event.getTaskId(), event.getTask());
+    }
+
+    @EventListener
+    public void onStaffChanged(StaffChangedEvent event) {
+        staffChanged(event.getStaffId(), event.getStaff());
+    }
+
+    private synchronized void taskChanged(String taskId, Task task) {
+        Contribution current = task != null && task.getStatus() == TaskStatus.ACTIVE && task.getAssignedStaffId() != null
+            ? new Contribution(task.getAssignedStaffId(), weightOf(task.getPriority()))
+            : null;
+        Contribution previous = current != null ? contributions.put(taskId, current) : contributions.remove(taskId);
+        if (Objects.equals(previous, current)) {
+            return;
+        }
+        if (previous != null) {
+            adjust(loadFor(previous.staffId), -previous.weight);
+        }
+        if (current != null) {
+            adjust(loadFor(current.staffId), current.weight);
+        }
+    }
+
+    private synchronized void staffChanged(String staffId, Staff staff) {
+        StaffLoad staffLoad = loadFor(staffId);
+        unlink(staffLoad);
+        // Deleted staff keep their load until their tasks move, but are no longer picked
+        staffLoad.assignable = staff != null;
+        staffLoad.department = staff != null ? staff.getDepartment() : null;
+        link(staffLoad);
+    }
+
+    private synchronized void release(Reservation reservation) {
+        adjust(loadFor(reservation.staffId), -reservation.weight);
+    }
+
+    private StaffLoad loadFor(String staffId) {
+        return loadsByStaff.computeIfAbsent(staffId, StaffLoad::new);
+    }
+
+    /**
+     * Change a load without breaking the ordering of the sets it is in
+     */
+    private void adjust(StaffLoad staffLoad, long delta) {
+        unlink(staffLoad);
+        staffLoad.load += delta;
+        link(staffLoad);
+    }
+
+    private void link(StaffLoad staffLoad) {
+        if (!staffLoad.assignable) {
+            return;
+        }
+        allStaff.add(staffLoad);
+        if (staffLoad.department != null) {
+            byDepartment.computeIfAbsent(staffLoad.department, department -> new TreeSet<>(LEAST_LOADED)).add(staffLoad);
+        }
+    }
+
+    private void unlink(StaffLoad staffLoad) {
+        if (!staffLoad.assignable) {
+            return;
+        }
+        allStaff.remove(staffLoad);
+        if (staffLoad.department != null) {
+            NavigableSet<StaffLoad> department = byDepartment.get(staffLoad.department);
+            department.remove(staffLoad);
+            if (department.isEmpty()) {
+                byDepartment.remove(staffLoad.department);
+            }
+        }
+    }
+
+    private int weightOf(Priority priority) {
+        return priority != null ? weights.get(priority) : weights.get(Priority.LOW);
+    }
+
+    /**
+     * Weight held against a staff member for a task being created. Release it once the task is
+     * stored, or the creation failed; from then on the task's own change events carry its load.
+     */
+    public final class Reservation {
+        private final String staffId;
+        private final int weight;
+        private boolean released;
+
+        private Reservation(String staffId, int weight) {
+            this.staffId = staffId;
+            this.weight = weight;
+        }
+
+        public String getStaffId() {
+            return staffId;
+        }
+
+        public void release() {
+            if (!released) {
+                released = true;
+                AssignmentService.this.release(this);
+            }
+        }
+    }
+
+    private record Contribution(String staffId, int weight) {}
+
+    private static final class StaffLoad {
+        private final String staffId;
+        private String department;
+        private long load;
+        private boolean assignable;
+
+        StaffLoad(String staffId) {
+            this.staffId = staffId;
+        }
+    }
+}
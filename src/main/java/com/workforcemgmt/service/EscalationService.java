@@ -0,0 +1,133 @@
+package com.workforcemgmt.service;
+
+import com.workforcemgmt.event.TaskChangedEvent;
+import com.workforcemgmt.model.Task;
+import com.workforcemgmt.model.TaskMutation;
+import com.workforcemgmt.model.TaskStatus;
+import com.workforcemgmt.store.TimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Overdue detection for active tasks. Every active task with a due date has one timer in a
+ * timing wheel, set for the end of its due date plus a grace period and moved whenever the task
+ * changes; completing, cancelling or deleting the task removes it. When a timer fires the task is
+ * escalated through {@link TaskService#escalateOverdueTask}, which publishes an ESCALATED change.
+ * Tasks that stay overdue are escalated again every {@code repeat-interval}, if one is set.
+ */
+@Service
+public class EscalationService {
+    private final TaskService taskService;
+    private final boolean enabled;
+    private final Duration grace;
+    private final Duration repeatInterval;
+    private final boolean raisePriority;
+    private final String escalatedBy;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final TimingWheel wheel;
+    private final Map<String, Escalation> lastEscalations = new ConcurrentHashMap<>();
+    private final Counter escalations;
+
+    public EscalationService(TaskService taskService, MeterRegistry meterRegistry,
+                             @Value("${workforce.escalation.enabled:true}") boolean enabled,
+                             @Value("${workforce.escalation.tick:1s}") Duration tick,
+                             @Value("${workforce.escalation.grace:0s}") Duration grace,
+                             @Value("${workforce.escalation.repeat-interval:24h}") Duration repeatInterval,
+                             @Value("${workforce.escalation.raise-priority:true}") boolean raisePriority,
+                             @Value("${workforce.escalation.escalated-by:system}") String escalatedBy) {
+        this.taskService = taskService;
+        this.enabled = enabled;
+        this.grace = grace;
+        this.repeatInterval = repeatInterval;
+        this.raisePriority = raisePriority;
+        this.escalatedBy = escalatedBy;
+        this.wheel = new TimingWheel("escalation-wheel", Math.max(1, tick.toMillis()), this::onOverdue);
+        this.escalations = Counter.builder("workforce.escalation.escalated")
+            .description("Overdue task escalations")
+            .register(meterRegistry);
+        meterRegistry.gauge("workforce.escalation.scheduled", wheel, TimingWheel::size);
+    }
+
+    /**
+     * Tasks that exist before the first change event, e.g. restored at startup
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleExistingTasks() {
+        for (Task task : taskService.getAllTasks()) {
+            schedule(task.getId(), task);
+        }
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        schedule(event.getTaskId(), event.getTask());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        wheel.shutdown();
+    }
+
+    private void schedule(String taskId, Task task) {
+        if (!enabled) {
+            return;
+        }
+        if (task == null || task.getStatus() != TaskStatus.ACTIVE || task.getDueDate() == null) {
+            lastEscalations.remove(taskId);
+            wheel.cancel(taskId);
+            return;
+        }
+        Escalation last = lastEscalations.get(taskId);
+        if (last == null || !last.dueDate().equals(task.getDueDate())) {
+            lastEscalations.remove(taskId);
+            wheel.schedule(taskId, overdueAt(task.getDueDate()));
+        } else if (repeatInterval.isZero()) {
+            // Escalated for this due date already
+            wheel.cancel(taskId);
+        } else {
+            wheel.schedule(taskId, last.escalatedAt() + repeatInterval.toMillis());
+        }
+    }
+
+    /**
+     * Runs on the wheel thread for each task whose timer fired
+     */
+    private void onOverdue(String taskId) {
+        Task task = taskService.findTaskById(taskId);
+        if (task == null || task.getDueDate() == null) {
+            return;
+        }
+        LocalDate dueDate = task.getDueDate();
+        long now = System.currentTimeMillis();
+        if (overdueAt(dueDate) > now) {
+            // Moved to a later date since the timer was set; its change event has rescheduled it
+            return;
+        }
+        // Recorded first, so the ESCALATED event sees it and schedules the next reminder
+        Escalation escalation = new Escalation(dueDate, now);
+        lastEscalations.put(taskId, escalation);
+        TaskMutation mutation = taskService.escalateOverdueTask(taskId, dueDate, raisePriority, escalatedBy);
+        if (mutation == null) {
+            lastEscalations.remove(taskId, escalation);
+        } else {
+            escalations.increment();
+        }
+    }
+
+    private long overdueAt(LocalDate dueDate) {
+        return dueDate.plusDays(1).atStartOfDay(zone).toInstant().plus(grace).toEpochMilli();
+    }
+
+    private record Escalation(LocalDate dueDate, long escalatedAt) {}
+}
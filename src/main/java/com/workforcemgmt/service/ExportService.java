@@ -0,0 +1,183 @@
+package com.workforcemgmt.service;
+
+import com.workforcemgmt.dto.ExportResultDto;
+import com.workforcemgmt.mapper.ExportFormat;
+import com.workforcemgmt.mapper.TableWriter;
+import com.workforcemgmt.mapper.TableWriter.Column;
+import com.workforcemgmt.mapper.TableWriter.ColumnType;
+import com.workforcemgmt.mapper.TaskMapper;
+import com.workforcemgmt.model.ActivityEntry;
+import com.workforcemgmt.model.Task;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Export of all tasks, optionally with their activity history, as CSV or columnar files. Tasks
+ * are read through {@link TaskService#readAllTasks} a batch at a time, each row a consistent copy
+ * of its task, and written straight through a fixed-size output buffer; columnar files also hold
+ * one row group. Memory use therefore does not grow with the number of tasks, and live traffic is
+ * never blocked for more than one batch. Rows come in store order.
+ */
+@Service
+public class ExportService {
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private static final List<Column> TASK_COLUMNS = List.of(
+        new Column("id", ColumnType.STRING),
+        new Column("title", ColumnType.STRING),
+        new Column("description", ColumnType.STRING),
+        new Column("status", ColumnType.STRING),
+        new Column("priority", ColumnType.STRING),
+        new Column("assignedStaffId", ColumnType.STRING),
+        new Column("assignedStaffName", ColumnType.STRING),
+        new Column("startDate", ColumnType.DATE),
+        new Column("dueDate", ColumnType.DATE),
+        new Column("createdAt", ColumnType.TIMESTAMP),
+        new Column("updatedAt", ColumnType.TIMESTAMP),
+        new Column("createdBy", ColumnType.STRING),
+        new Column("customerReference", ColumnType.STRING),
+        new Column("version", ColumnType.LONG));
+
+    private static final List<Column> ACTIVITY_COLUMNS = List.of(
+        new Column("activityId", ColumnType.STRING),
+        new Column("activityTimestamp", ColumnType.TIMESTAMP),
+        new Column("activityUserId", ColumnType.STRING),
+        new Column("activityUserName", ColumnType.STRING),
+        new Column("activityAction", ColumnType.STRING),
+        new Column("activityDescription", ColumnType.STRING));
+
+    private final TaskService taskService;
+    private final TaskMapper taskMapper;
+    private final Path directory;
+    private final int batchSize;
+    private final int rowGroupSize;
+
+    public ExportService(TaskService taskService, TaskMapper taskMapper,
+                         @Value("${workforce.export.directory:exports}") String directory,
+                         @Value("${workforce.export.batch-size:512}") int batchSize,
+                         @Value("${workforce.export.row-group-size:8192}") int rowGroupSize) {
+        this.taskService = taskService;
+        this.taskMapper = taskMapper;
+        this.directory = Path.of(directory);
+        this.batchSize = Math.max(1, batchSize);
+        this.rowGroupSize = Math.max(1, rowGroupSize);
+    }
+
+    /**
+     * Write the export to a stream, e.g. an HTTP response
+     */
+    public ExportResultDto export(ExportFormat format, boolean includeActivity, OutputStream output) throws IOException {
+        return write(format, includeActivity, output, null);
+    }
+
+    /**
+     * Write the export to a new file in the export directory. The file only appears under its
+     * final name once complete.
+     */
+    public ExportResultDto exportToDirectory(ExportFormat format, boolean includeActivity) throws IOException {
+        Files.createDirectories(directory);
+        String name = "tasks-" + FILE_TIMESTAMP.format(LocalDateTime.now()) + "." + format.getExtension();
+        Path target = directory.resolve(name);
+        Path partial = directory.resolve(name + ".part");
+        ExportResultDto result;
+        try (OutputStream output = Files.newOutputStream(partial)) {
+            result = write(format, includeActivity, output, target.toString());
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+        return result;
+    }
+
+    private ExportResultDto write(ExportFormat format, boolean includeActivity, OutputStream output, String file)
+            throws IOException {
+        long started = System.nanoTime();
+        List<Column> columns = includeActivity
+            ? Stream.concat(TASK_COLUMNS.stream(), ACTIVITY_COLUMNS.stream()).toList()
+            : TASK_COLUMNS;
+        BufferedOutputStream buffered = new BufferedOutputStream(output, OUTPUT_BUFFER_SIZE);
+        TableWriter writer = format.open(columns, buffered, rowGroupSize);
+        long[] rows = {0};
+        long tasks;
+        try {
+            tasks = taskService.readAllTasks(batchSize, task -> rowsOf(task, includeActivity), batch -> {
+                try {
+                    for (List<Object[]> taskRows : batch) {
+                        for (Object[] row : taskRows) {
+                            writer.writeRow(row);
+                            rows[0]++;
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.finish();
+        buffered.flush();
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        return new ExportResultDto(format.name().toLowerCase(Locale.ROOT), file, tasks, rows[0],
+                                   writer.bytesWritten(), elapsedMillis);
+    }
+
+    /**
+     * Rows of one task, read on its lane: the task alone, or one row per activity entry
+     */
+    private List<Object[]> rowsOf(Task task, boolean includeActivity) {
+        Object[] taskValues = {
+            task.getId(),
+            task.getTitle(),
+            task.getDescription(),
+            task.getStatus() != null ? task.getStatus().name() : null,
+            task.getPriority() != null ? task.getPriority().name() : null,
+            task.getAssignedStaffId(),
+            taskMapper.assignedStaffName(task),
+            task.getStartDate(),
+            task.getDueDate(),
+            task.getCreatedAt(),
+            task.getUpdatedAt(),
+            task.getCreatedBy(),
+            task.getCustomerReference(),
+            task.getVersion()
+        };
+        if (!includeActivity) {
+            return List.<Object[]>of(taskValues);
+        }
+        List<ActivityEntry> history = task.getActivityHistory();
+        if (history.isEmpty()) {
+            return List.<Object[]>of(Arrays.copyOf(taskValues, taskValues.length + ACTIVITY_COLUMNS.size()));
+        }
+        List<Object[]> rows = new ArrayList<>(history.size());
+        for (ActivityEntry entry : history) {
+            Object[] row = Arrays.copyOf(taskValues, taskValues.length + ACTIVITY_COLUMNS.size());
+            int i = taskValues.length;
+            row[i++] = entry.getId();
+            row[i++] = entry.getTimestamp();
+            row[i++] = entry.getUserId();
+            row[i++] = entry.getUserName();
+            row[i++] = entry.getAction();
+            row[i] = entry.getDescription();
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,340 @@
+package com.workforcemgmt.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.workforcemgmt.dto.CreateTaskRequest;
+import com.workforcemgmt.dto.ImportEventDto;
+import com.workforcemgmt.dto.StaffDto;
+import com.workforcemgmt.mapper.CsvReader;
+import com.workforcemgmt.mapper.ImportFormat;
+import com.workforcemgmt.mapper.StaffMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Bulk import of staff and tasks from CSV or NDJSON uploads. The upload is parsed incrementally on
+ * the calling thread and cut into fixed-size chunks; a worker pool converts, validates and stores
+ * the chunks in parallel through the batched store paths. At most two chunks per worker are in
+ * flight, so memory stays bounded by the chunk size whatever the size of the upload.
+ *
+ * The report is NDJSON written as chunks finish, in input order: an error line per rejected
+ * record, a progress line per chunk and a final summary. A rejected record does not stop the
+ * import; malformed CSV does, after reporting the chunks read before it.
+ */
+@Service
+public class ImportService {
+    private final StaffService staffService;
+    private final StaffMapper staffMapper;
+    private final TaskService taskService;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter eventWriter;
+    private final Validator validator;
+    private final ExecutorService workers;
+    private final int chunkSize;
+    private final int maxChunksInFlight;
+
+    public ImportService(StaffService staffService, StaffMapper staffMapper, TaskService taskService,
+                         ObjectMapper objectMapper, Validator validator,
+                         @Value("${workforce.import.chunk-size:1000}") int chunkSize,
+                         @Value("${workforce.import.parallelism:0}") int parallelism) {
+        this.staffService = staffService;
+        this.staffMapper = staffMapper;
+        this.taskService = taskService;
+        this.objectMapper = objectMapper;
+        this.eventWriter = objectMapper.writerFor(ImportEventDto.class);
+        this.validator = validator;
+        this.chunkSize = Math.max(1, chunkSize);
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.maxChunksInFlight = 2 * threads;
+
+        AtomicInteger workerIndex = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "import-worker-" + workerIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Create or replace the staff members in the upload, one {@link StaffDto} per record
+     */
+    public void importStaff(Reader input, ImportFormat format, OutputStream report) throws IOException {
+        run(input, format, report, StaffDto.class, staff -> null,
+            (members, failures) -> staffService.importStaff(
+                members.stream().map(staffMapper::staffDtoToStaff).toList()).size());
+    }
+
+    /**
+     * Create the tasks in the upload, one {@link CreateTaskRequest} per record. Staff ids are checked
+     * against the staff directory as of the start of the import.
+     */
+    public void importTasks(Reader input, ImportFormat format, OutputStream report) throws IOException {
+        StaffDirectory staff = staffService.getDirectory();
+        run(input, format, report, CreateTaskRequest.class, request -> checkTask(request, staff),
+            taskService::importTasks);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private <T> void run(Reader input, ImportFormat format, OutputStream report, Class<T> type,
+                         Function<T, String> check, BatchImport<T> batch) throws IOException {
+        long started = System.nanoTime();
+        Totals totals = new Totals();
+        Deque<Future<ChunkReport>> inFlight = new ArrayDeque<>();
+        String abortMessage = null;
+        try {
+            RecordSource source = format == ImportFormat.CSV
+                ? csvRecords(new CsvReader(input))
+                : ndjsonRecords(new BufferedReader(input));
+            List<RawRecord> chunk = new ArrayList<>(chunkSize);
+            RawRecord record;
+            while ((record = source.next()) != null) {
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    inFlight.add(submit(chunk, type, check, batch));
+                    chunk = new ArrayList<>(chunkSize);
+                    while (inFlight.size() >= maxChunksInFlight) {
+                        write(report, await(inFlight.poll()), totals);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                inFlight.add(submit(chunk, type, check, batch));
+            }
+        } catch (IllegalArgumentException e) {
+            // Malformed CSV: nothing after this point can be split into records reliably
+            abortMessage = e.getMessage();
+        }
+
+        while (!inFlight.isEmpty()) {
+            write(report, await(inFlight.poll()), totals);
+        }
+        if (abortMessage != null) {
+            writeEvent(report, ImportEventDto.error(null, abortMessage));
+        }
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        writeEvent(report, ImportEventDto.summary(totals.processed, totals.imported, totals.failed,
+                                                  elapsedMillis, abortMessage == null));
+        report.flush();
+    }
+
+    private <T> Future<ChunkReport> submit(List<RawRecord> records, Class<T> type, Function<T, String> check,
+                                           BatchImport<T> batch) {
+        return workers.submit(() -> importChunk(records, type, check, batch));
+    }
+
+    /**
+     * Convert and validate every record of a chunk, then store the valid ones as one batch
+     */
+    private <T> ChunkReport importChunk(List<RawRecord> records, Class<T> type, Function<T, String> check,
+                                        BatchImport<T> batch) {
+        ChunkReport chunkReport = new ChunkReport(records.size());
+        List<T> values = new ArrayList<>(records.size());
+        List<Long> lines = new ArrayList<>(records.size());
+        for (RawRecord record : records) {
+            String error = record.error();
+            T value = null;
+            if (error == null) {
+                try {
+                    value = record.json() != null
+                        ? objectMapper.readValue(record.json(), type)
+                        : objectMapper.convertValue(record.fields(), type);
+                    error = validate(value, check);
+                } catch (JsonProcessingException | IllegalArgumentException e) {
+                    error = describe(e);
+                }
+            }
+            if (error != null) {
+                chunkReport.reject(record.line(), error);
+            } else {
+                values.add(value);
+                lines.add(record.line());
+            }
+        }
+        if (!values.isEmpty()) {
+            chunkReport.imported = batch.importAll(values,
+                (position, e) -> chunkReport.reject(lines.get(position), e.getMessage()));
+        }
+        chunkReport.errors.sort(Comparator.comparing(ImportEventDto::getLine));
+        return chunkReport;
+    }
+
+    private <T> String validate(T value, Function<T, String> check) {
+        Set<ConstraintViolation<T>> violations = validator.validate(value);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .reduce((a, b) -> a + "; " + b)
+                .orElseThrow();
+        }
+        return check.apply(value);
+    }
+
+    private String checkTask(CreateTaskRequest request, StaffDirectory staff) {
+        if (request.getAssignedStaffId() == null) {
+            return null;
+        }
+        if (request.getStrategy() != null) {
+            return "Give either assignedStaffId or strategy, not both";
+        }
+        return staff.get(request.getAssignedStaffId()) == null
+            ? "Staff member not found with id: " + request.getAssignedStaffId()
+            : null;
+    }
+
+    private static String describe(Exception e) {
+        // Jackson's own message without the source location, which only points into the record
+        Throwable cause = e instanceof JsonProcessingException ? e : e.getCause();
+        if (cause instanceof JsonProcessingException jsonException) {
+            return jsonException.getOriginalMessage();
+        }
+        return e.getMessage();
+    }
+
+    private void write(OutputStream report, ChunkReport chunkReport, Totals totals) throws IOException {
+        for (ImportEventDto error : chunkReport.errors) {
+            writeEvent(report, error);
+        }
+        totals.processed += chunkReport.processed;
+        totals.imported += chunkReport.imported;
+        totals.failed += chunkReport.errors.size();
+        writeEvent(report, ImportEventDto.progress(totals.processed, totals.imported, totals.failed));
+        report.flush();
+    }
+
+    private void writeEvent(OutputStream report, ImportEventDto event) throws IOException {
+        report.write(eventWriter.writeValueAsBytes(event));
+        report.write('\n');
+    }
+
+    private static ChunkReport await(Future<ChunkReport> chunk) {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while importing", e);
+        } catch (ExecutionException e) {
+            // Rethrow as thrown by the worker, so exception handlers see the original type
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Records of a CSV upload: the first row names the fields, empty values are left unset
+     */
+    private static RecordSource csvRecords(CsvReader csv) throws IOException {
+        String[] header = csv.readRecord();
+        if (header == null) {
+            return () -> null;
+        }
+        for (int i = 0; i < header.length; i++) {
+            header[i] = header[i].trim();
+        }
+        // A byte order mark survives decoding as the first character
+        if (header.length > 0 && header[0].startsWith("\uFEFF")) {
+            header[0] = header[0].substring(1);
+        }
+        return () -> {
+            String[] values = csv.readRecord();
+            if (values == null) {
+                return null;
+            }
+            if (values.length != header.length) {
+                return new RawRecord(csv.recordLine(), null, null,
+                    "Expected " + header.length + " fields, found " + values.length);
+            }
+            Map<String, String> fields = new HashMap<>();
+            for (int i = 0; i < values.length; i++) {
+                if (!values[i].isEmpty()) {
+                    fields.put(header[i], values[i]);
+                }
+            }
+            return new RawRecord(csv.recordLine(), fields, null, null);
+        };
+    }
+
+    /**
+     * Records of an NDJSON upload, one per non-blank line
+     */
+    private static RecordSource ndjsonRecords(BufferedReader reader) {
+        long[] lineNumber = {0};
+        return () -> {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber[0]++;
+                if (!line.isBlank()) {
+                    return new RawRecord(lineNumber[0], null, line, null);
+                }
+            }
+            return null;
+        };
+    }
+
+    @FunctionalInterface
+    private interface RecordSource {
+        /**
+         * The next record, or null at the end of the upload
+         */
+        RawRecord next() throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface BatchImport<T> {
+        /**
+         * Store a batch of valid values, reporting the ones that still fail by position
+         */
+        int importAll(List<T> values, BiConsumer<Integer, RuntimeException> failures);
+    }
+
+    /**
+     * One record as read: CSV fields by header name or an NDJSON line, or why it cannot be read
+     */
+    private record RawRecord(long line, Map<String, String> fields, String json, String error) {}
+
+    private static final class ChunkReport {
+        private final int processed;
+        private final List<ImportEventDto> errors = new ArrayList<>();
+        private int imported;
+
+        ChunkReport(int processed) {
+            this.processed = processed;
+        }
+
+        void reject(long line, String message) {
+            errors.add(ImportEventDto.error(line, message));
+        }
+    }
+
+    private static final class Totals {
+        private long processed;
+        private long imported;
+        private long failed;
+    }
+}
@@ -0,0 +1,180 @@
+package com.workforcemgmt.service;
+
+import com.workforcemgmt.dto.StaffDto;
+import com.workforcemgmt.model.Staff;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Immutable, versioned snapshot of all staff members, rebuilt by {@link StaffService} on every
+ * change. Staff data is read far more often than it changes, so everything a read needs is
+ * computed once per version: the id lookup, the members and their DTOs in id order, the same per
+ * department, and a sorted prefix index over name words, full names and email addresses for
+ * type-ahead search. Plain and per-department listings return the precomputed lists as they are.
+ */
+public final class StaffDirectory {
+    private final long version;
+    private final Map<String, Staff> byId;
+    private final List<Staff> staff;
+    private final List<StaffDto> staffDtos;
+    private final Map<String, List<Staff>> staffByDepartment;
+    private final Map<String, List<StaffDto>> staffDtosByDepartment;
+    // Lowercase search terms in sorted order, each with the position of its staff member in 'staff'
+    private final String[] terms;
+    private final int[] termOwners;
+
+    private StaffDirectory(long version, Collection<Staff> members, Function<Staff, StaffDto> toDto) {
+        this.version = version;
+        List<Staff> sorted = new ArrayList<>(members);
+        sorted.sort(Comparator.comparing(Staff::getId));
+        this.staff = Collections.unmodifiableList(sorted);
+
+        Map<String, Staff> byId = new HashMap<>();
+        List<StaffDto> dtos = new ArrayList<>(sorted.size());
+        Map<String, List<Staff>> byDepartment = new HashMap<>();
+        Map<String, List<StaffDto>> dtosByDepartment = new HashMap<>();
+        List<Map.Entry<String, Integer>> searchTerms = new ArrayList<>();
+        for (int i = 0; i < sorted.size(); i++) {
+            Staff member = sorted.get(i);
+            StaffDto dto = toDto.apply(member);
+            byId.put(member.getId(), member);
+            dtos.add(dto);
+            if (member.getDepartment() != null) {
+                byDepartment.computeIfAbsent(member.getDepartment(), d -> new ArrayList<>()).add(member);
+                dtosByDepartment.computeIfAbsent(member.getDepartment(), d -> new ArrayList<>()).add(dto);
+            }
+            for (String term : searchTermsOf(member)) {
+                searchTerms.add(Map.entry(term, i));
+            }
+        }
+        searchTerms.sort(Map.Entry.comparingByKey());
+
+        this.byId = byId;
+        this.staffDtos = Collections.unmodifiableList(dtos);
+        this.staffByDepartment = unmodifiableValues(byDepartment);
+        this.staffDtosByDepartment = unmodifiableValues(dtosByDepartment);
+        this.terms = new String[searchTerms.size()];
+        this.termOwners = new int[searchTerms.size()];
+        for (int i = 0; i < searchTerms.size(); i++) {
+            terms[i] = searchTerms.get(i).getKey();
+            termOwners[i] = searchTerms.get(i).getValue();
+        }
+    }
+
+    static StaffDirectory empty() {
+        return new StaffDirectory(0, List.of(), staff -> null);
+    }
+
+    /**
+     * The next version of the directory with the given members
+     */
+    StaffDirectory rebuild(Collection<Staff> members, Function<Staff, StaffDto> toDto) {
+        return new StaffDirectory(version + 1, members, toDto);
+    }
+
+    /**
+     * Incremented on every staff change; a cheap validator for anything derived from staff data
+     */
+    public long version() {
+        return version;
+    }
+
+    public Staff get(String id) {
+        return byId.get(id);
+    }
+
+    /**
+     * Display name of a staff member, null for unknown or deleted members
+     */
+    public String nameOf(String id) {
+        Staff member = id != null ? byId.get(id) : null;
+        return member != null ? member.getName() : null;
+    }
+
+    public List<Staff> staff() {
+        return staff;
+    }
+
+    public List<StaffDto> staffDtos() {
+        return staffDtos;
+    }
+
+    public List<Staff> inDepartment(String department) {
+        return staffByDepartment.getOrDefault(department, List.of());
+    }
+
+    public List<StaffDto> dtosInDepartment(String department) {
+        return staffDtosByDepartment.getOrDefault(department, List.of());
+    }
+
+    /**
+     * Staff members, optionally in one department, with a name word, full name or email address
+     * starting with {@code query} (case-insensitive), in id order
+     */
+    public List<Staff> search(String department, String query) {
+        if (query == null || query.isBlank()) {
+            return department != null ? inDepartment(department) : staff;
+        }
+        return matching(department, query, staff);
+    }
+
+    /**
+     * DTOs of {@link #search(String, String)}
+     */
+    public List<StaffDto> searchDtos(String department, String query) {
+        if (query == null || query.isBlank()) {
+            return department != null ? dtosInDepartment(department) : staffDtos;
+        }
+        return matching(department, query, staffDtos);
+    }
+
+    /**
+     * Elements of {@code source}, which is parallel to {@code staff}, whose member matches the query
+     */
+    private <T> List<T> matching(String department, String query, List<T> source) {
+        String prefix = query.trim().toLowerCase(Locale.ROOT);
+        BitSet owners = new BitSet(staff.size());
+        int low = 0;
+        int high = terms.length;
+        // First term not ordered before the prefix; all matches follow it contiguously
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (terms[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        for (int i = low; i < terms.length && terms[i].startsWith(prefix); i++) {
+            owners.set(termOwners[i]);
+        }
+
+        List<T> result = new ArrayList<>(owners.cardinality());
+        for (int i = owners.nextSetBit(0); i >= 0; i = owners.nextSetBit(i + 1)) {
+            if (department == null || department.equals(staff.get(i).getDepartment())) {
+                result.add(source.get(i));
+            }
+        }
+        return result;
+    }
+
+    private static Set<String> searchTermsOf(Staff member) {
+        Set<String> terms = new HashSet<>();
+        if (member.getName() != null) {
+            String name = member.getName().trim().toLowerCase(Locale.ROOT);
+            terms.add(name);
+            terms.addAll(Arrays.asList(name.split("\\s+")));
+        }
+        if (member.getEmail() != null) {
+            terms.add(member.getEmail().trim().toLowerCase(Locale.ROOT));
+        }
+        terms.remove("");
+        return terms;
+    }
+
+    private static <T> Map<String, List<T>> unmodifiableValues(Map<String, List<T>> map) {
+        map.replaceAll((key, values) -> Collections.unmodifiableList(values));
+        return map;
+    }
+}
@@ -1,7 +1,11 @@
 package com.workforcemgmt.service;
 
+import com.workforcemgmt.event.StaffChangedEvent;
 import com.workforcemgmt.exception.ResourceNotFoundException;
+import com.workforcemgmt.mapper.StaffMapper;
 import com.workforcemgmt.model.Staff;
+import com.workforcemgmt.store.ChangeLog;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
@@ -9,11 +13,22 @@ import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Service class for managing staff members
+ * Service class for managing staff members. Reads go to the current {@link StaffDirectory}
+ * snapshot; changes are serialized and publish a rebuilt snapshot.
  */
 @Service
 public class StaffService {
     private final Map<String, Staff> staffStorage = new ConcurrentHashMap<>();
+    private final ChangeLog changeLog;
+    private final StaffMapper staffMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private volatile StaffDirectory directory = StaffDirectory.empty();
+
+    public StaffService(ChangeLog changeLog, StaffMapper staffMapper, ApplicationEventPublisher eventPublisher) {
+        this.changeLog = changeLog;
+        this.staffMapper = staffMapper;
+        this.eventPublisher = eventPublisher;
+    }
 
     @PostConstruct
     public void initializeData() {
@@ -24,43 +39,96 @@ public class StaffService {
         createStaff(new Staff("staff-4", "Sarah Wilson", "sarah.wilson@company.com", "Operations"));
     }
 
-    public Staff createStaff(Staff staff) {
+    public synchronized Staff createStaff(Staff staff) {
         if (staff.getId() == null || staff.getId().isEmpty()) {
             staff.setId(UUID.randomUUID().toString());
         }
         staffStorage.put(staff.getId(), staff);
+        recordChange(staff.getId(), staff);
         return staff;
     }
 
+    /**
+     * Create or replace a batch of staff members, rebuilding the directory once for the whole batch
+     * instead of once per member. Members without an id get a generated one.
+     */
+    public synchronized List<Staff> importStaff(List<Staff> members) {
+        for (Staff staff : members) {
+            if (staff.getId() == null || staff.getId().isEmpty()) {
+                staff.setId(UUID.randomUUID().toString());
+            }
+            staffStorage.put(staff.getId(), staff);
+        }
+        directory = directory.rebuild(staffStorage.values(), staffMapper::staffToStaffDto);
+        for (Staff staff : members) {
+            publishChange(staff.getId(), staff);
+        }
+        return members;
+    }
+
+    /**
+     * All staff members in id order; an unmodifiable list shared by every reader of this version
+     */
     public List<Staff> getAllStaff() {
-        return new ArrayList<>(staffStorage.values());
+        return directory.staff();
+    }
+
+    /**
+     * The current directory snapshot, consistent across several reads
+     */
+    public StaffDirectory getDirectory() {
+        return directory;
     }
 
     public Staff getStaffById(String id) {
-        Staff staff = staffStorage.get(id);
+        Staff staff = directory.get(id);
         if (staff == null) {
             throw new ResourceNotFoundException("Staff member not found with id: " + id);
         }
         return staff;
     }
 
-    public Staff updateStaff(String id, Staff updatedStaff) {
+    /**
+     * The staff member with this id, or null when there is none
+     */
+    public Staff findStaffById(String id) {
+        return directory.get(id);
+    }
+
+    public synchronized Staff updateStaff(String id, Staff updatedStaff) {
         if (!staffStorage.containsKey(id)) {
             throw new ResourceNotFoundException("Staff member not found with id: " + id);
         }
         updatedStaff.setId(id);
         staffStorage.put(id, updatedStaff);
+        recordChange(id, updatedStaff);
         return updatedStaff;
     }
 
-    public void deleteStaff(String id) {
+    public synchronized void deleteStaff(String id) {
         if (!staffStorage.containsKey(id)) {
             throw new ResourceNotFoundException("Staff member not found with id: " + id);
         }
-        staffStorage.remove(id);
+        if (staffStorage.remove(id) != null) {
+            recordChange(id, null);
+        }
     }
 
     public boolean staffExists(String id) {
-        return staffStorage.containsKey(id);
+        return directory.get(id) != null;
+    }
+
+    /**
+     * Publish the rebuilt directory, then stamp the change with the next global sequence number
+     * and publish it
+     */
+    private void recordChange(String id, Staff staff) {
+        directory = directory.rebuild(staffStorage.values(), staffMapper::staffToStaffDto);
+        publishChange(id, staff);
+    }
+
+    private void publishChange(String id, Staff staff) {
+        long sequence = changeLog.append(ChangeLog.EntityType.STAFF, id);
+        eventPublisher.publishEvent(new StaffChangedEvent(id, staff, sequence));
     }
 }
@@ -0,0 +1,103 @@
+package com.workforcemgmt.service;
+
+import com.workforcemgmt.dto.StaffDto;
+import com.workforcemgmt.dto.SyncResponseDto;
+import com.workforcemgmt.dto.TaskDto;
+import com.workforcemgmt.mapper.StaffMapper;
+import com.workforcemgmt.mapper.TaskMapper;
+import com.workforcemgmt.model.Staff;
+import com.workforcemgmt.model.Task;
+import com.workforcemgmt.store.ChangeLog;
+import com.workforcemgmt.store.TaskStore;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service answering delta sync requests from the global change log
+ */
+@Service
+public class SyncService {
+    private final ChangeLog changeLog;
+    private final TaskStore taskStorage;
+    private final StaffService staffService;
+    private final TaskMapper taskMapper;
+    private final StaffMapper staffMapper;
+
+    public SyncService(ChangeLog changeLog, TaskStore taskStorage, StaffService staffService,
+                       TaskMapper taskMapper, StaffMapper staffMapper) {
+        this.changeLog = changeLog;
+        this.taskStorage = taskStorage;
+        this.staffService = staffService;
+        this.taskMapper = taskMapper;
+        this.staffMapper = staffMapper;
+    }
+
+    /**
+     * Everything changed after the given cursor. Entities changed several times are sent once,
+     * in their current state, which may already include changes after the returned cursor;
+     * those are sent again on the next sync, so applying a response is idempotent.
+     *
+     * @param since {@code <epoch>:<sequence>} from the previous sync, or "0" for a client that has
+     *              seen nothing yet; a cursor from another epoch gets a full resync
+     */
+    public SyncResponseDto changesSince(String since) {
+        long sequence = sequenceOf(since);
+        ChangeLog.Window window = sequence < 0 ? null : changeLog.since(sequence);
+        if (window == null) {
+            return SyncResponseDto.fullResync(changeLog.currentCursor());
+        }
+
+        Set<String> taskIds = new LinkedHashSet<>();
+        Set<String> staffIds = new LinkedHashSet<>();
+        for (ChangeLog.Change change : window.changes()) {
+            (change.type() == ChangeLog.EntityType.TASK ? taskIds : staffIds).add(change.id());
+        }
+
+        List<TaskDto> tasks = new ArrayList<>();
+        List<String> deletedTaskIds = new ArrayList<>();
+        for (String id : taskIds) {
+            Task task = taskStorage.get(id);
+            if (task == null) {
+                deletedTaskIds.add(id);
+            } else {
+                tasks.add(taskMapper.taskToTaskDto(task));
+            }
+        }
+
+        List<StaffDto> staff = new ArrayList<>();
+        List<String> deletedStaffIds = new ArrayList<>();
+        for (String id : staffIds) {
+            Staff member = staffService.findStaffById(id);
+            if (member == null) {
+                deletedStaffIds.add(id);
+            } else {
+                staff.add(staffMapper.staffToStaffDto(member));
+            }
+        }
+        return new SyncResponseDto(changeLog.cursor(window.sequence()), tasks, staff, deletedTaskIds, deletedStaffIds);
+    }
+
+    /**
+     * Sequence of a cursor issued in the current epoch, -1 for one issued by an earlier process
+     */
+    private long sequenceOf(String cursor) {
+        if ("0".equals(cursor)) {
+            return 0;
+        }
+        int separator = cursor.lastIndexOf(':');
+        long sequence;
+        try {
+            sequence = Long.parseLong(cursor.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Sync cursor must be <epoch>:<sequence>: " + cursor);
+        }
+        if (sequence < 0) {
+            throw new IllegalArgumentException("Sync cursor must not be negative: " + cursor);
+        }
+        return separator > 0 && cursor.substring(0, separator).equals(changeLog.epoch()) ? sequence : -1;
+    }
+}
@@ -1,58 +1,238 @@
 package com.workforcemgmt.service;
 
 import com.workforcemgmt.dto.CreateTaskRequest;
+import com.workforcemgmt.dto.TaskQueryRequest;
+import com.workforcemgmt.event.TaskChangeType;
+import com.workforcemgmt.event.TaskChangedEvent;
+import com.workforcemgmt.exception.PreconditionFailedException;
 import com.workforcemgmt.exception.ResourceNotFoundException;
 import com.workforcemgmt.model.*;
+import com.workforcemgmt.store.ActivityLog;
+import com.workforcemgmt.store.ChangeLog;
+import com.workforcemgmt.store.CustomerLaneExecutor;
+import com.workforcemgmt.store.QueryCoalescer;
+import com.workforcemgmt.store.TaskIndex;
+import com.workforcemgmt.store.TaskScanEngine;
+import com.workforcemgmt.store.TaskStore;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * Service class for managing tasks, including CRUD operations and business logic
  */
 @Service
 public class TaskService {
-    private final Map<String, Task> taskStorage = new ConcurrentHashMap<>();
+    private final TaskStore taskStorage;
     private final StaffService staffService;
+    private final TaskIndex taskIndex;
+    private final TaskScanEngine scanEngine;
+    private final ChangeLog changeLog;
+    private final ActivityLog activityLog;
+    private final CustomerLaneExecutor customerLanes;
+    private final QueryCoalescer queryCoalescer;
+    private final AssignmentService assignmentService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public TaskService(StaffService staffService) {
+    public TaskService(TaskStore taskStorage, StaffService staffService, TaskIndex taskIndex, TaskScanEngine scanEngine,
+                       ChangeLog changeLog, ActivityLog activityLog, CustomerLaneExecutor customerLanes,
+                       QueryCoalescer queryCoalescer, AssignmentService assignmentService,
+                       ApplicationEventPublisher eventPublisher) {
+        this.taskStorage = taskStorage;
         this.staffService = staffService;
+        this.taskIndex = taskIndex;
+        this.scanEngine = scanEngine;
+        this.changeLog = changeLog;
+        this.activityLog = activityLog;
+        this.customerLanes = customerLanes;
+        this.queryCoalescer = queryCoalescer;
+        this.assignmentService = assignmentService;
+        this.eventPublisher = eventPublisher;
     }
 
-    public Task createTask(CreateTaskRequest request) {
-        // Validate staff exists
-        Staff assignedStaff = staffService.getStaffById(request.getAssignedStaffId());
-        
-        String taskId = UUID.randomUUID().toString();
-        Task task = new Task(
-            taskId,
-            request.getTitle(),
-            request.getDescription(),
-            TaskStatus.ACTIVE,
-            request.getPriority(),
-            request.getAssignedStaffId(),
-            assignedStaff.getName(),
-            request.getStartDate(),
-            request.getDueDate(),
-            request.getCreatedBy(),
-            request.getCustomerReference()
-        );
-
-        taskStorage.put(taskId, task);
-        
-        // Log activity
-        addActivityEntry(task, request.getCreatedBy(), request.getCreatedBy(), 
-                        "CREATED", "Task created and assigned to " + assignedStaff.getName());
-        
-        return task;
+    /**
+     * Create a task for the named staff member, or for one picked by the request's strategy when
+     * no staff member is named
+     */
+    public TaskMutation createTask(CreateTaskRequest request) {
+        if (request.getAssignedStaffId() != null && request.getStrategy() != null) {
+            throw new IllegalArgumentException("Give either assignedStaffId or strategy, not both");
+        }
+        return customerLanes.execute(request.getCustomerReference(), () -> {
+            AssignmentService.Reservation reservation = request.getAssignedStaffId() == null
+                ? assignmentService.reserveLeastLoaded(request.getDepartment(), request.getPriority())
+                : null;
+            try {
+                String staffId = reservation != null ? reservation.getStaffId() : request.getAssignedStaffId();
+                // Validate staff exists
+                Staff assignedStaff = staffService.getStaffById(staffId);
+
+                String taskId = UUID.randomUUID().toString();
+                Task task = new Task(
+                    taskId,
+                    request.getTitle(),
+                    request.getDescription(),
+                    TaskStatus.ACTIVE,
+                    request.getPriority(),
+                    staffId,
+                    request.getStartDate(),
+                    request.getDueDate(),
+                    request.getCreatedBy(),
+                    request.getCustomerReference()
+                );
+
+                taskStorage.put(task);
+                taskIndex.reindex(task);
+
+                // Log activity
+                String staffName = assignedStaff.getName();
+                Supplier<ActivityEntry> activity = addActivityEntry(task, request.getCreatedBy(), request.getCreatedBy(),
+                                "CREATED", () -> "Task created and assigned to " + staffName);
+                return recordChange(task, TaskChangeType.CREATED, activity, null);
+            } finally {
+                // The CREATED event has added the task's own load by now
+                if (reservation != null) {
+                    reservation.release();
+                }
+            }
+        });
+    }
+
+    /**
+     * Create a batch of validated task requests, e.g. one chunk of a bulk import. The tasks of all
+     * customers sharing a lane are stored and indexed together in one command on that lane, with
+     * one CREATED activity entry and change per task, instead of a lane round trip and index update
+     * per task. Requests without a staff member are assigned as in {@link #createTask}.
+     *
+     * @param failures receives the position and cause of every request that could not be created
+     * @return number of tasks created
+     */
+    public int importTasks(List<CreateTaskRequest> requests, BiConsumer<Integer, RuntimeException> failures) {
+        Map<Integer, List<Integer>> positionsByLane = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            positionsByLane.computeIfAbsent(customerLanes.laneOf(requests.get(i).getCustomerReference()),
+                                            lane -> new ArrayList<>()).add(i);
+        }
+        int created = 0;
+        for (List<Integer> positions : positionsByLane.values()) {
+            // Any of the group's customer references selects the lane; null runs on this thread
+            String customerReference = requests.get(positions.get(0)).getCustomerReference();
+            created += customerLanes.execute(customerReference, () -> importOnLane(requests, positions, failures));
+        }
+        return created;
+    }
+
+    private int importOnLane(List<CreateTaskRequest> requests, List<Integer> positions,
+                             BiConsumer<Integer, RuntimeException> failures) {
+        List<Task> tasks = new ArrayList<>(positions.size());
+        List<Staff> assignees = new ArrayList<>(positions.size());
+        List<AssignmentService.Reservation> reservations = new ArrayList<>();
+        try {
+            for (int position : positions) {
+                CreateTaskRequest request = requests.get(position);
+                try {
+                    String staffId = request.getAssignedStaffId();
+                    if (staffId == null) {
+                        // Held until the batch is stored, so the batch itself spreads over the staff
+                        AssignmentService.Reservation reservation =
+                            assignmentService.reserveLeastLoaded(request.getDepartment(), request.getPriority());
+                        reservations.add(reservation);
+                        staffId = reservation.getStaffId();
+                    }
+                    assignees.add(staffService.getStaffById(staffId));
+                    tasks.add(new Task(
+                        UUID.randomUUID().toString(),
+                        request.getTitle(),
+                        request.getDescription(),
+                        TaskStatus.ACTIVE,
+                        request.getPriority(),
+                        staffId,
+                        request.getStartDate(),
+                        request.getDueDate(),
+                        request.getCreatedBy(),
+                        request.getCustomerReference()
+                    ));
+                } catch (RuntimeException e) {
+                    failures.accept(position, e);
+                }
+            }
+
+            taskStorage.putAll(tasks);
+            taskIndex.reindexAll(tasks);
+            for (int i = 0; i < tasks.size(); i++) {
+                Task task = tasks.get(i);
+                String staffName = assignees.get(i).getName();
+                Supplier<ActivityEntry> activity = addActivityEntry(task, task.getCreatedBy(), task.getCreatedBy(),
+                    "CREATED", () -> "Task created and assigned to " + staffName);
+                recordChange(task, TaskChangeType.CREATED, activity, null);
+            }
+            return tasks.size();
+        } finally {
+            // The CREATED events have added the tasks' own load by now
+            reservations.forEach(AssignmentService.Reservation::release);
+        }
+    }
+
+    /**
+     * Store-wide modification count, changes whenever any task does
+     */
+    public long getModificationCount() {
+        return taskStorage.modificationCount();
     }
 
     public List<Task> getAllTasks() {
-        return new ArrayList<>(taskStorage.values());
+        return taskStorage.snapshot();
+    }
+
+    /**
+     * Walk every stored task without copying the store. Tasks are taken {@code batchSize} at a
+     * time in store order and read with {@code reader} on their customer's lane, one command per
+     * lane and batch, so a read never sees a task halfway through a mutation while no lane is held
+     * for longer than one batch. Each batch's results go to {@code sink} on the calling thread.
+     * Tasks created or deleted during the walk may or may not be included.
+     *
+     * @return number of tasks read
+     */
+    public <R> long readAllTasks(int batchSize, Function<Task, R> reader, Consumer<List<R>> sink) {
+        Spliterator<Task> tasks = taskStorage.spliterator();
+        List<Task> batch = new ArrayList<>(batchSize);
+        long count = 0;
+        boolean more = true;
+        while (more) {
+            more = tasks.tryAdvance(batch::add);
+            if (batch.size() == batchSize || (!more && !batch.isEmpty())) {
+                sink.accept(readOnLanes(batch, reader));
+                count += batch.size();
+                batch.clear();
+            }
+        }
+        return count;
+    }
+
+    private <R> List<R> readOnLanes(List<Task> batch, Function<Task, R> reader) {
+        Map<Integer, List<Integer>> positionsByLane = new HashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            positionsByLane.computeIfAbsent(customerLanes.laneOf(batch.get(i).getCustomerReference()),
+                                            lane -> new ArrayList<>()).add(i);
+        }
+        List<R> results = new ArrayList<>(Collections.nCopies(batch.size(), null));
+        for (List<Integer> positions : positionsByLane.values()) {
+            customerLanes.execute(batch.get(positions.get(0)).getCustomerReference(), () -> {
+                for (int position : positions) {
+                    results.set(position, reader.apply(batch.get(position)));
+                }
+                return null;
+            });
+        }
+        return results;
     }
 
     public Task getTaskById(String id) {
@@ -63,70 +243,236 @@ public class TaskService {
         return task;
     }
 
-    public Task updateTask(String id, Task updatedTask) {
-        Task existingTask = getTaskById(id);
+    /**
+     * The task with this id, or null when there is none
+     */
+    public Task findTaskById(String id) {
+        return taskStorage.get(id);
+    }
+
+    public TaskMutation updateTask(String id, Task updatedTask) {
+        return updateTask(id, updatedTask, null);
+    }
+
+    /**
+     * Replace a task, optionally only if it is still at the expected version
+     */
+    public TaskMutation updateTask(String id, Task updatedTask, Long expectedVersion) {
+        return customerLanes.execute(customerReferenceOf(id), () -> {
+            Task existingTask = getTaskById(id);
+            if (expectedVersion != null && existingTask.getVersion() != expectedVersion) {
+                throw new PreconditionFailedException("Task " + id + " has been modified, current version is " + existingTask.getVersion());
+            }
+            String previousStaffId = existingTask.getAssignedStaffId();
         
-        updatedTask.setId(id);
-        updatedTask.setCreatedAt(existingTask.getCreatedAt());
-        updatedTask.setUpdatedAt(LocalDateTime.now());
-        updatedTask.setActivityHistory(existingTask.getActivityHistory());
-        updatedTask.setComments(existingTask.getComments());
+            updatedTask.setId(id);
+            updatedTask.setCreatedAt(existingTask.getCreatedAt());
+            updatedTask.setUpdatedAt(LocalDateTime.now());
+            updatedTask.setActivityHistory(existingTask.getActivityHistory());
+            updatedTask.setComments(existingTask.getComments());
+            updatedTask.setVersion(existingTask.getVersion());
         
-        taskStorage.put(id, updatedTask);
-        return updatedTask;
+            if (expectedVersion == null) {
+                taskStorage.put(updatedTask);
+            } else if (!taskStorage.replace(existingTask, updatedTask)) {
+                throw new PreconditionFailedException("Task " + id + " was modified concurrently");
+            }
+            taskIndex.reindex(updatedTask);
+            return recordChange(updatedTask, TaskChangeType.UPDATED, null, null, previousStaffId, departmentOf(previousStaffId));
+        });
     }
 
     public void deleteTask(String id) {
-        if (!taskStorage.containsKey(id)) {
-            throw new ResourceNotFoundException("Task not found with id: " + id);
-        }
-        taskStorage.remove(id);
+        customerLanes.execute(customerReferenceOf(id), () -> {
+            if (!taskStorage.containsKey(id)) {
+                throw new ResourceNotFoundException("Task not found with id: " + id);
+            }
+            Task removed = taskStorage.remove(id);
+            taskIndex.remove(id);
+            activityLog.forgetTask(id);
+            if (removed != null) {
+                taskStorage.markModified();
+                long sequence = changeLog.append(ChangeLog.EntityType.TASK, id);
+                eventPublisher.publishEvent(new TaskChangedEvent(id, null, TaskChangeType.DELETED, removed.getVersion() + 1, sequence));
+            }
+            return null;
+        });
     }
 
     /**
      * Reassign task to a new staff member by customer reference
      * Fixes Bug 1: Properly cancels old task instead of creating duplicates
      */
-    public Task reassignTaskByCustomerReference(String customerReference, String newStaffId, String updatedBy) {
-        // Validate new staff exists
-        Staff newStaff = staffService.getStaffById(newStaffId);
-        
-        // Find existing active task for this customer reference
-        Task existingTask = taskStorage.values().stream()
-            .filter(task -> customerReference.equals(task.getCustomerReference()) && 
-                           task.getStatus() == TaskStatus.ACTIVE)
-            .findFirst()
-            .orElseThrow(() -> new ResourceNotFoundException("No active task found for customer reference: " + customerReference));
-
-        // Cancel the old task
-        existingTask.setStatus(TaskStatus.CANCELLED);
-        existingTask.setUpdatedAt(LocalDateTime.now());
-        addActivityEntry(existingTask, updatedBy, updatedBy, 
-                        "CANCELLED", "Task cancelled due to reassignment");
-
-        // Create new task with the same details but assigned to new staff
-        String newTaskId = UUID.randomUUID().toString();
-        Task newTask = new Task(
-            newTaskId,
-            existingTask.getTitle(),
-            existingTask.getDescription(),
-            TaskStatus.ACTIVE,
-            existingTask.getPriority(),
-            newStaffId,
-            newStaff.getName(),
-            existingTask.getStartDate(),
-            existingTask.getDueDate(),
-            updatedBy,
-            customerReference
-        );
-
-        taskStorage.put(newTaskId, newTask);
+    public TaskMutation reassignTaskByCustomerReference(String customerReference, String newStaffId, String updatedBy) {
+        return customerLanes.execute(customerReference, () -> {
+            // Validate new staff exists
+            Staff newStaff = staffService.getStaffById(newStaffId);
         
-        // Log activity for new task
-        addActivityEntry(newTask, updatedBy, updatedBy, 
-                        "CREATED", "Task reassigned from " + existingTask.getAssignedStaffName() + " to " + newStaff.getName());
+            // Find existing active task for this customer reference
+            Task existingTask = taskIndex.withCustomerReference(customerReference).stream()
+                .map(taskStorage::get)
+                .filter(task -> task != null && task.getStatus() == TaskStatus.ACTIVE)
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("No active task found for customer reference: " + customerReference));
+
+            // Cancel the old task
+            existingTask.setStatus(TaskStatus.CANCELLED);
+            existingTask.setUpdatedAt(LocalDateTime.now());
+            taskIndex.reindex(existingTask);
+            Supplier<ActivityEntry> cancellation = addActivityEntry(existingTask, updatedBy, updatedBy, 
+                            "CANCELLED", () -> "Task cancelled due to reassignment");
+            recordChange(existingTask, TaskChangeType.CANCELLED, cancellation, null);
+
+            // Create new task with the same details but assigned to new staff
+            String newTaskId = UUID.randomUUID().toString();
+            Task newTask = new Task(
+                newTaskId,
+                existingTask.getTitle(),
+                existingTask.getDescription(),
+                TaskStatus.ACTIVE,
+                existingTask.getPriority(),
+                newStaffId,
+                existingTask.getStartDate(),
+                existingTask.getDueDate(),
+                updatedBy,
+                customerReference
+            );
+
+            taskStorage.put(newTask);
+            taskIndex.reindex(newTask);
         
-        return newTask;
+            // Log activity for new task
+            String previousStaffName = staffNameOf(existingTask.getAssignedStaffId());
+            String newStaffName = newStaff.getName();
+            Supplier<ActivityEntry> creation = addActivityEntry(newTask, updatedBy, updatedBy, 
+                            "CREATED", () -> "Task reassigned from " + previousStaffName + " to " + newStaffName);
+            return recordChange(newTask, TaskChangeType.REASSIGNED, creation, null);
+        });
+    }
+
+    /**
+     * Reassign every active task of a staff member, either to one other staff member or each to the
+     * least loaded member of a department. Tasks keep their ids; each customer's tasks are moved on
+     * that customer's lane and reindexed together, with one activity entry and change per task.
+     * Works for staff members that no longer exist, to rescue tasks left behind by a deletion.
+     *
+     * @return number of tasks handed to each staff member
+     */
+    public Map<String, Integer> handOverTasks(String fromStaffId, String toStaffId, String department, String updatedBy) {
+        return handOverTasks(fromStaffId, toStaffId, department, updatedBy, false);
+    }
+
+    /**
+     * Hand over as above, optionally deleting the staff member first. Once deleted, nothing new can
+     * be assigned to them; tasks assigned by commands that checked the staff member just before the
+     * deletion are picked up by further passes until one finds no active task left. The target is
+     * checked before anything moves, and a handover that still fails part-way restores the staff
+     * member, so their remaining tasks never point at a deleted id.
+     *
+     * @return number of tasks handed to each staff member
+     */
+    public Map<String, Integer> handOverTasks(String fromStaffId, String toStaffId, String department, String updatedBy,
+                                              boolean deleteFirst) {
+        if ((toStaffId == null) == (department == null)) {
+            throw new IllegalArgumentException("Give either a staff member or a department to hand over to");
+        }
+        if (fromStaffId.equals(toStaffId)) {
+            throw new IllegalArgumentException("Cannot hand tasks over to the same staff member");
+        }
+        Staff target = toStaffId != null ? staffService.getStaffById(toStaffId) : null;
+        if (target == null && !assignmentService.hasCandidate(department, fromStaffId)) {
+            throw new ResourceNotFoundException("No other staff members in department: " + department);
+        }
+        Staff leaving = staffService.findStaffById(fromStaffId);
+        String fromDepartment = leaving != null ? leaving.getDepartment() : null;
+        if (deleteFirst) {
+            staffService.deleteStaff(fromStaffId);
+        }
+
+        Map<String, Integer> handedOver = new TreeMap<>();
+        try {
+            boolean found;
+            do {
+                found = handOverPass(fromStaffId, fromDepartment, target, department, updatedBy, handedOver);
+            } while (deleteFirst && found);
+        } catch (RuntimeException e) {
+            // e.g. the last other member of the department left meanwhile; tasks already moved stay moved
+            if (deleteFirst && leaving != null) {
+                staffService.createStaff(leaving);
+            }
+            throw e;
+        }
+        return handedOver;
+    }
+
+    /**
+     * Move the active tasks currently assigned to a staff member
+     *
+     * @return whether any active task was found
+     */
+    private boolean handOverPass(String fromStaffId, String fromDepartment, Staff target, String department,
+                                 String updatedBy, Map<String, Integer> handedOver) {
+        Map<String, List<String>> taskIdsByCustomer = new HashMap<>();
+        for (String taskId : taskIndex.assignedTo(fromStaffId)) {
+            Task task = taskStorage.get(taskId);
+            if (task != null && task.getStatus() == TaskStatus.ACTIVE) {
+                taskIdsByCustomer.computeIfAbsent(task.getCustomerReference(), ref -> new ArrayList<>()).add(taskId);
+            }
+        }
+
+        taskIdsByCustomer.forEach((customerReference, taskIds) -> customerLanes.execute(customerReference, () -> {
+            handOverOnLane(taskIds, fromStaffId, fromDepartment, target, department, updatedBy, handedOver);
+            return null;
+        }));
+        return !taskIdsByCustomer.isEmpty();
+    }
+
+    private void handOverOnLane(List<String> taskIds, String fromStaffId, String fromDepartment, Staff target, String department,
+                                String updatedBy, Map<String, Integer> handedOver) {
+        List<Task> moved = new ArrayList<>(taskIds.size());
+        List<Staff> newStaff = new ArrayList<>(taskIds.size());
+        List<AssignmentService.Reservation> reservations = new ArrayList<>();
+        try {
+            // Pick every new assignee first, so a failed pick leaves all tasks untouched
+            for (String taskId : taskIds) {
+                // Re-check on the lane, the task may have changed since it was collected
+                Task task = taskStorage.get(taskId);
+                if (task == null || task.getStatus() != TaskStatus.ACTIVE || !fromStaffId.equals(task.getAssignedStaffId())) {
+                    continue;
+                }
+                Staff staff = target;
+                if (staff == null) {
+                    AssignmentService.Reservation reservation =
+                        assignmentService.reserveLeastLoaded(department, task.getPriority(), fromStaffId);
+                    reservations.add(reservation);
+                    staff = staffService.getStaffById(reservation.getStaffId());
+                }
+                moved.add(task);
+                newStaff.add(staff);
+            }
+
+            List<String> previousStaffNames = new ArrayList<>(moved.size());
+            for (int i = 0; i < moved.size(); i++) {
+                Task task = moved.get(i);
+                previousStaffNames.add(staffNameOf(task.getAssignedStaffId()));
+                task.setAssignedStaffId(newStaff.get(i).getId());
+                task.setUpdatedAt(LocalDateTime.now());
+            }
+            taskIndex.reindexAll(moved);
+
+            for (int i = 0; i < moved.size(); i++) {
+                Task task = moved.get(i);
+                String previousStaffName = previousStaffNames.get(i);
+                String newStaffName = newStaff.get(i).getName();
+                Supplier<ActivityEntry> activity = addActivityEntry(task, updatedBy, updatedBy, "REASSIGNED",
+                    () -> "Task handed over from " + previousStaffName + " to " + newStaffName);
+                recordChange(task, TaskChangeType.REASSIGNED, activity, null, fromStaffId, fromDepartment);
+                handedOver.merge(task.getAssignedStaffId(), 1, Integer::sum);
+            }
+        } finally {
+            // The REASSIGNED events have moved the tasks' load by now
+            reservations.forEach(AssignmentService.Reservation::release);
+        }
     }
 
     /**
@@ -134,125 +480,329 @@ public class TaskService {
      * Fixes Bug 2: Filters out cancelled tasks from the result
      */
     public List<Task> getTasksByDateRange(LocalDate startDate, LocalDate endDate) {
-        return taskStorage.values().stream()
-            .filter(task -> task.getStatus() != TaskStatus.CANCELLED) // Exclude cancelled tasks
-            .filter(task -> {
-                LocalDate taskStartDate = task.getStartDate();
-                return taskStartDate != null && 
-                       !taskStartDate.isBefore(startDate) && 
-                       !taskStartDate.isAfter(endDate);
-            })
-            .collect(Collectors.toList());
+        // Cancelled tasks are excluded by the planner when no status is requested
+        return queryTasks(new TaskQueryRequest(null, null, null, null, startDate, endDate));
     }
 
     /**
      * Smart daily task view - Feature 1
-     * Returns tasks that started in the date range PLUS active tasks that started before but are still open
+     * Returns tasks that started in the date range PLUS active tasks that started before but are still open.
+     * Devices tend to ask for the same window at the same time, so identical requests share one scan.
      */
     public List<Task> getSmartDailyTasks(LocalDate startDate, LocalDate endDate) {
-        return taskStorage.values().stream()
-            .filter(task -> task.getStatus() != TaskStatus.CANCELLED) // Exclude cancelled tasks
-            .filter(task -> {
-                LocalDate taskStartDate = task.getStartDate();
-                if (taskStartDate == null) return false;
-                
-                // Tasks that started within the range
-                boolean startedInRange = !taskStartDate.isBefore(startDate) && !taskStartDate.isAfter(endDate);
-                
-                // Active tasks that started before the range but are still open
-                boolean activeFromBefore = taskStartDate.isBefore(startDate) && 
-                                         task.getStatus() == TaskStatus.ACTIVE;
-                
-                return startedInRange || activeFromBefore;
-            })
-            .collect(Collectors.toList());
+        return queryCoalescer.execute("smart-daily", new SmartDailyKey(startDate, endDate),
+            () -> Collections.unmodifiableList(scanSmartDailyTasks(startDate, endDate)));
+    }
+
+    private List<Task> scanSmartDailyTasks(LocalDate startDate, LocalDate endDate) {
+        return scanEngine.filter("smart-daily", task -> {
+            if (task.getStatus() == TaskStatus.CANCELLED) return false; // Exclude cancelled tasks
+            
+            LocalDate taskStartDate = task.getStartDate();
+            if (taskStartDate == null) return false;
+            
+            // Tasks that started within the range
+            boolean startedInRange = !taskStartDate.isBefore(startDate) && !taskStartDate.isAfter(endDate);
+            
+            // Active tasks that started before the range but are still open
+            boolean activeFromBefore = taskStartDate.isBefore(startDate) && 
+                                     task.getStatus() == TaskStatus.ACTIVE;
+            
+            return startedInRange || activeFromBefore;
+        });
+    }
+
+    /**
+     * Tasks whose start..due span overlaps [from, to]; {@code to} defaults to {@code from}, which
+     * asks for the tasks in progress on that day. Excludes cancelled tasks unless a status is given.
+     */
+    public List<Task> getOverlappingTasks(LocalDate from, LocalDate to, TaskStatus status, String staffId) {
+        LocalDate end = to != null ? to : from;
+        if (from.isAfter(end)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        return queryCoalescer.execute("overlapping", new OverlapKey(from, end, status, staffId), () -> {
+            Set<String> ids = taskIndex.overlapping(from, end);
+            if (staffId != null) {
+                ids.retainAll(taskIndex.assignedTo(staffId));
+            }
+            // Re-check, the task may have moved since the ids were collected
+            return Collections.unmodifiableList(scanEngine.resolve("overlapping", ids, task ->
+                (status != null ? task.getStatus() == status : task.getStatus() != TaskStatus.CANCELLED)
+                    && (staffId == null || staffId.equals(task.getAssignedStaffId()))
+                    && overlaps(task, from, end)));
+        });
+    }
+
+    private static boolean overlaps(Task task, LocalDate from, LocalDate to) {
+        LocalDate start = TaskIndex.spanStart(task.getStartDate(), task.getDueDate());
+        return start != null && !start.isAfter(to) && !TaskIndex.spanEnd(task.getStartDate(), task.getDueDate()).isBefore(from);
     }
 
     /**
      * Update task priority - Feature 2
      */
-    public Task updateTaskPriority(String taskId, Priority newPriority, String updatedBy) {
-        Task task = getTaskById(taskId);
-        Priority oldPriority = task.getPriority();
-        
-        task.setPriority(newPriority);
-        task.setUpdatedAt(LocalDateTime.now());
+    public TaskMutation updateTaskPriority(String taskId, Priority newPriority, String updatedBy) {
+        return customerLanes.execute(customerReferenceOf(taskId), () -> {
+            Task task = getTaskById(taskId);
+            Priority oldPriority = task.getPriority();
         
-        addActivityEntry(task, updatedBy, updatedBy, 
-                        "PRIORITY_CHANGED", 
-                        "Priority changed from " + oldPriority + " to " + newPriority);
+            task.setPriority(newPriority);
+            task.setUpdatedAt(LocalDateTime.now());
+            taskIndex.reindex(task);
         
-        return task;
+            Supplier<ActivityEntry> activity = addActivityEntry(task, updatedBy, updatedBy, 
+                            "PRIORITY_CHANGED", 
+                            () -> "Priority changed from " + oldPriority + " to " + newPriority);
+            return recordChange(task, TaskChangeType.PRIORITY_CHANGED, activity, null);
+        });
     }
 
     /**
      * Get tasks by priority - Feature 2
      */
     public List<Task> getTasksByPriority(Priority priority) {
-        return taskStorage.values().stream()
-            .filter(task -> task.getStatus() != TaskStatus.CANCELLED) // Exclude cancelled tasks
-            .filter(task -> priority.equals(task.getPriority()))
-            .collect(Collectors.toList());
+        // Cancelled tasks are excluded by the planner when no status is requested
+        return queryTasks(new TaskQueryRequest(null, priority, null, null, null, null));
+    }
+
+    /**
+     * Combined filter query. Estimates the selectivity of every applicable index, materializes the
+     * most selective one and intersects the remaining id sets into it. The date window is only used
+     * as an access path when it is the most selective; otherwise it is checked as a residual predicate.
+     * Falls back to a full scan when no predicate has an index. Identical concurrent queries share
+     * one execution.
+     */
+    public List<Task> queryTasks(TaskQueryRequest query) {
+        QueryKey key = new QueryKey(query.getStatus(), query.getPriority(), query.getStaffId(),
+                                    query.getCustomerReference(), query.getStartDate(), query.getEndDate());
+        return queryCoalescer.execute("query", key, () -> Collections.unmodifiableList(executeQuery(query)));
+    }
+
+    private List<Task> executeQuery(TaskQueryRequest query) {
+        Predicate<Task> predicate = matching(query);
+        List<AccessPath> accessPaths = planAccessPaths(query);
+        if (accessPaths.isEmpty()) {
+            return scanEngine.filter("query", predicate);
+        }
+
+        Set<String> candidateIds = new HashSet<>(accessPaths.get(0).ids().get());
+        for (int i = 1; i < accessPaths.size() && !candidateIds.isEmpty(); i++) {
+            AccessPath accessPath = accessPaths.get(i);
+            if (accessPath.probeable()) {
+                candidateIds.retainAll(accessPath.ids().get());
+            }
+        }
+
+        // Re-check every predicate, the indexes may have moved on since the ids were collected
+        return scanEngine.resolve("query", candidateIds, predicate);
     }
 
+    /**
+     * Applicable access paths, most selective first
+     */
+    private List<AccessPath> planAccessPaths(TaskQueryRequest query) {
+        List<AccessPath> accessPaths = new ArrayList<>();
+        if (query.getCustomerReference() != null) {
+            Set<String> ids = taskIndex.withCustomerReference(query.getCustomerReference());
+            accessPaths.add(new AccessPath(ids.size(), true, () -> ids));
+        }
+        if (query.getStaffId() != null) {
+            Set<String> ids = taskIndex.assignedTo(query.getStaffId());
+            accessPaths.add(new AccessPath(ids.size(), true, () -> ids));
+        }
+        if (query.getStatus() != null) {
+            Set<String> ids = taskIndex.withStatus(query.getStatus());
+            accessPaths.add(new AccessPath(ids.size(), true, () -> ids));
+        }
+        if (query.getPriority() != null) {
+            Set<String> ids = taskIndex.withPriority(query.getPriority());
+            accessPaths.add(new AccessPath(ids.size(), true, () -> ids));
+        }
+        if (query.hasDateWindow()) {
+            LocalDate from = query.getStartDate();
+            LocalDate to = query.getEndDate();
+            accessPaths.add(new AccessPath(taskIndex.estimateStartingBetween(from, to), false,
+                                           () -> taskIndex.startingBetween(from, to)));
+        }
+        accessPaths.sort(Comparator.comparingInt(AccessPath::estimate));
+        return accessPaths;
+    }
+
+    private Predicate<Task> matching(TaskQueryRequest query) {
+        return task -> {
+            if (query.getStatus() != null ? task.getStatus() != query.getStatus()
+                                          : task.getStatus() == TaskStatus.CANCELLED) {
+                return false;
+            }
+            if (query.getPriority() != null && task.getPriority() != query.getPriority()) {
+                return false;
+            }
+            if (query.getStaffId() != null && !query.getStaffId().equals(task.getAssignedStaffId())) {
+                return false;
+            }
+            if (query.getCustomerReference() != null && !query.getCustomerReference().equals(task.getCustomerReference())) {
+                return false;
+            }
+            if (query.hasDateWindow()) {
+                LocalDate taskStartDate = task.getStartDate();
+                if (taskStartDate == null) return false;
+                if (query.getStartDate() != null && taskStartDate.isBefore(query.getStartDate())) return false;
+                if (query.getEndDate() != null && taskStartDate.isAfter(query.getEndDate())) return false;
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Candidate id source for the query planner. Probeable paths are backed by an index set with
+     * constant-time membership checks and are cheap to intersect; the rest must be materialized.
+     */
+    private record AccessPath(int estimate, boolean probeable, Supplier<Set<String>> ids) {}
+
+    private record QueryKey(TaskStatus status, Priority priority, String staffId, String customerReference,
+                            LocalDate startDate, LocalDate endDate) {}
+
+    private record SmartDailyKey(LocalDate startDate, LocalDate endDate) {}
+
+    private record OverlapKey(LocalDate from, LocalDate to, TaskStatus status, String staffId) {}
+
     /**
      * Add comment to task - Feature 3
      */
-    public Task addCommentToTask(String taskId, String userId, String userName, String content) {
-        Task task = getTaskById(taskId);
+    public TaskMutation addCommentToTask(String taskId, String userId, String userName, String content) {
+        return customerLanes.execute(customerReferenceOf(taskId), () -> {
+            Task task = getTaskById(taskId);
         
-        Comment comment = new Comment(
-            UUID.randomUUID().toString(),
-            taskId,
-            userId,
-            userName,
-            content,
-            LocalDateTime.now()
-        );
+            Comment comment = new Comment(
+                UUID.randomUUID().toString(),
+                taskId,
+                userId,
+                userName,
+                content,
+                LocalDateTime.now()
+            );
         
-        task.getComments().add(comment);
-        task.setUpdatedAt(LocalDateTime.now());
+            // Appended in lane order, so comments stay chronological without sorting on read
+            task.getComments().add(comment);
+            task.setUpdatedAt(LocalDateTime.now());
         
-        addActivityEntry(task, userId, userName, "COMMENT_ADDED", "Comment added: " + content);
-        
-        return task;
+            Supplier<ActivityEntry> activity = addActivityEntry(task, userId, userName, "COMMENT_ADDED", () -> "Comment added: " + content);
+            return recordChange(task, TaskChangeType.COMMENT_ADDED, activity, comment);
+        });
     }
 
     /**
      * Update task status
      */
-    public Task updateTaskStatus(String taskId, TaskStatus newStatus, String updatedBy) {
-        Task task = getTaskById(taskId);
-        TaskStatus oldStatus = task.getStatus();
+    public TaskMutation updateTaskStatus(String taskId, TaskStatus newStatus, String updatedBy) {
+        return customerLanes.execute(customerReferenceOf(taskId), () -> {
+            Task task = getTaskById(taskId);
+            TaskStatus oldStatus = task.getStatus();
         
-        task.setStatus(newStatus);
-        task.setUpdatedAt(LocalDateTime.now());
+            task.setStatus(newStatus);
+            task.setUpdatedAt(LocalDateTime.now());
+            taskIndex.reindex(task);
         
-        addActivityEntry(task, updatedBy, updatedBy, 
-                        "STATUS_CHANGED", 
-                        "Status changed from " + oldStatus + " to " + newStatus);
-        
-        return task;
+            Supplier<ActivityEntry> activity = addActivityEntry(task, updatedBy, updatedBy, 
+                            "STATUS_CHANGED", 
+                            () -> "Status changed from " + oldStatus + " to " + newStatus);
+            return recordChange(task, TaskChangeType.STATUS_CHANGED, activity, null);
+        });
+    }
+
+    /**
+     * Escalate an active task that is still due on {@code dueDate}: raise its priority one level
+     * if asked to and not already HIGH, and record the escalation in its history.
+     *
+     * @return the mutation, or null when the task is gone, no longer active or was rescheduled
+     */
+    public TaskMutation escalateOverdueTask(String taskId, LocalDate dueDate, boolean raisePriority, String escalatedBy) {
+        Task current = taskStorage.get(taskId);
+        if (current == null) {
+            return null;
+        }
+        return customerLanes.execute(current.getCustomerReference(), () -> {
+            Task task = taskStorage.get(taskId);
+            if (task == null || task.getStatus() != TaskStatus.ACTIVE || !dueDate.equals(task.getDueDate())) {
+                return null;
+            }
+            Priority oldPriority = task.getPriority();
+            Priority newPriority = raisePriority && oldPriority != null && oldPriority.ordinal() > 0
+                ? Priority.values()[oldPriority.ordinal() - 1]
+                : oldPriority;
+
+            task.setPriority(newPriority);
+            task.setUpdatedAt(LocalDateTime.now());
+            taskIndex.reindex(task);
+
+            Supplier<ActivityEntry> activity = addActivityEntry(task, escalatedBy, escalatedBy, "ESCALATED",
+                () -> newPriority != oldPriority
+                    ? "Overdue since " + dueDate + ", priority raised from " + oldPriority + " to " + newPriority
+                    : "Overdue since " + dueDate);
+            return recordChange(task, TaskChangeType.ESCALATED, activity, null);
+        });
+    }
+
+    /**
+     * Customer lane key for a task's mutations; also fails fast with 404 before queueing
+     */
+    private String customerReferenceOf(String taskId) {
+        return getTaskById(taskId).getCustomerReference();
+    }
+
+    /**
+     * Department of a staff member, null when unassigned or deleted
+     */
+    private String departmentOf(String staffId) {
+        Staff staff = staffId != null ? staffService.findStaffById(staffId) : null;
+        return staff != null ? staff.getDepartment() : null;
+    }
+
+    /**
+     * Current name of a staff member for activity messages, the id once the member is deleted
+     */
+    private String staffNameOf(String staffId) {
+        String name = staffService.getDirectory().nameOf(staffId);
+        return name != null ? name : staffId;
+    }
+
+    /**
+     * Bump the task version and notify listeners, called once per mutation after all fields are written
+     */
+    private TaskMutation recordChange(Task task, TaskChangeType type) {
+        return recordChange(task, type, null, null);
+    }
+
+    private TaskMutation recordChange(Task task, TaskChangeType type, Supplier<ActivityEntry> activity, Comment comment) {
+        return recordChange(task, type, activity, comment, null, null);
+    }
+
+    /**
+     * @param previousStaffId    assignee before the change; only kept when the task moved to someone else
+     * @param previousDepartment department of that assignee
+     */
+    private TaskMutation recordChange(Task task, TaskChangeType type, Supplier<ActivityEntry> activity, Comment comment,
+                                      String previousStaffId, String previousDepartment) {
+        if (Objects.equals(previousStaffId, task.getAssignedStaffId())) {
+            previousStaffId = null;
+            previousDepartment = null;
+        }
+        long version = task.incrementVersion();
+        taskStorage.markModified();
+        long sequence = changeLog.append(ChangeLog.EntityType.TASK, task.getId());
+        eventPublisher.publishEvent(new TaskChangedEvent(task.getId(), task, type, version, sequence, comment,
+                                                         previousStaffId, previousDepartment));
+        return new TaskMutation(task, version, activity, comment);
     }
 
     /**
      * Helper method to add activity entries - Feature 3
+     * Queued for the background activity writer, which keeps the history in chronological order
      */
-    private void addActivityEntry(Task task, String userId, String userName, String action, String description) {
-        ActivityEntry entry = new ActivityEntry(
-            UUID.randomUUID().toString(),
-            task.getId(),
-            userId,
-            userName,
-            action,
-            description,
-            LocalDateTime.now()
-        );
-        
-        task.getActivityHistory().add(entry);
-        
-        // Sort activity history chronologically
-        task.getActivityHistory().sort(Comparator.comparing(ActivityEntry::getTimestamp));
+    private Supplier<ActivityEntry> addActivityEntry(Task task, String userId, String userName, String action,
+                                                     Supplier<String> description) {
+        return activityLog.append(task, userId, userName, action, description);
     }
 
     /**
@@ -260,11 +810,9 @@ public class TaskService {
      */
     public Task getTaskWithFullDetails(String taskId) {
         Task task = getTaskById(taskId);
-        
-        // Sort activity history and comments chronologically
-        task.getActivityHistory().sort(Comparator.comparing(ActivityEntry::getTimestamp));
-        task.getComments().sort(Comparator.comparing(Comment::getTimestamp));
-        
+        // Read-your-writes: history queued by earlier mutations is written before it is rendered
+        activityLog.awaitTask(taskId);
+        // Activity history is kept in order by the writer, comments by appending them on the task's lane
         return task;
     }
 }
@@ -0,0 +1,388 @@
+package com.workforcemgmt.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.workforcemgmt.dto.TaskStreamEventDto;
+import com.workforcemgmt.event.EventRing;
+import com.workforcemgmt.event.TaskChangedEvent;
+import com.workforcemgmt.mapper.TaskMapper;
+import com.workforcemgmt.model.Staff;
+import com.workforcemgmt.model.Task;
+import com.workforcemgmt.store.ChangeLog;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Live task board over Server-Sent Events.
+ *
+ * Task changes are offered to a lock-free ring buffer from the publishing request thread and fanned
+ * out by a single dispatcher thread, which serializes each change once and hands it to the matching
+ * subscribers. Every subscriber has a small bounded queue that coalesces pending changes per task;
+ * when it overflows, or the ring itself drops changes, the subscriber gets one "resync" event and
+ * should catch up through /api/sync using the id of the last event it processed. Connections are
+ * asynchronous, so idle subscribers hold no thread: a small sender pool writes only to subscribers
+ * with pending events, and a heartbeat keeps idle connections open through proxies.
+ */
+@Service
+public class TaskStreamService {
+    private static final Logger log = LoggerFactory.getLogger(TaskStreamService.class);
+    private static final long DISPATCHER_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final StaffService staffService;
+    private final TaskMapper taskMapper;
+    private final ChangeLog changeLog;
+    private final ObjectWriter eventWriter;
+    private final EventRing<TaskChangedEvent> ring;
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Set<Subscriber> unfiltered = ConcurrentHashMap.newKeySet();
+    private final Map<String, Set<Subscriber>> byStaff = new ConcurrentHashMap<>();
+    private final Map<String, Set<Subscriber>> byDepartment = new ConcurrentHashMap<>();
+    private final int subscriberQueueSize;
+    private final long timeoutMillis;
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeats;
+    private final Thread dispatcher;
+    private volatile boolean dispatcherWaiting;
+    private volatile boolean running = true;
+
+    public TaskStreamService(StaffService staffService, TaskMapper taskMapper, ChangeLog changeLog, ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${workforce.stream.ring-size:8192}") int ringSize,
+                             @Value("${workforce.stream.subscriber-queue-size:256}") int subscriberQueueSize,
+                             @Value("${workforce.stream.sender-threads:4}") int senderThreads,
+                             @Value("${workforce.stream.heartbeat-interval:15s}") Duration heartbeatInterval,
+                             @Value("${workforce.stream.timeout:30m}") Duration timeout) {
+        this.staffService = staffService;
+        this.taskMapper = taskMapper;
+        this.changeLog = changeLog;
+        this.eventWriter = objectMapper.writerFor(TaskStreamEventDto.class);
+        this.ring = new EventRing<>(ringSize);
+        this.subscriberQueueSize = subscriberQueueSize;
+        this.timeoutMillis = timeout.toMillis();
+        FunctionCounter.builder("workforce.stream.dropped", droppedEvents, AtomicLong::get)
+            .description("Task changes the board could not stream, because the ring was full or the change failed to render")
+            .register(meterRegistry);
+
+        AtomicInteger senderIndex = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "task-stream-sender-" + senderIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = heartbeatInterval.toMillis();
+        heartbeats.scheduleAtFixedRate(() -> subscribers.forEach(Subscriber::heartbeat), interval, interval, TimeUnit.MILLISECONDS);
+
+        this.dispatcher = new Thread(this::dispatchLoop, "task-stream-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    /**
+     * Open a stream of changes to tasks assigned to the staff member and/or to anyone in the
+     * department; both null streams every change
+     */
+    public SseEmitter subscribe(String staffId, String department) {
+        if (staffId != null) {
+            // Fail fast on a typo instead of streaming nothing forever
+            staffService.getStaffById(staffId);
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, staffId, department);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        try {
+            // Buffered by the emitter until the handler returns; tells the client where the stream starts
+            emitter.send(SseEmitter.event().name("ready").data(position()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        register(subscriber);
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Where the stream stands, as the sequence of its event ids and as a cursor for /api/sync
+     */
+    private String position() {
+        long sequence = changeLog.currentSequence();
+        return "{\"sequence\":" + sequence + ",\"cursor\":\"" + changeLog.cursor(sequence) + "\"}";
+    }
+
+    @EventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!ring.offer(event)) {
+            droppedEvents.incrementAndGet();
+        }
+        if (dispatcherWaiting) {
+            LockSupport.unpark(dispatcher);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(dispatcher);
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(Subscriber::close);
+    }
+
+    private void register(Subscriber subscriber) {
+        subscribers.add(subscriber);
+        if (subscriber.staffId != null) {
+            byStaff.computeIfAbsent(subscriber.staffId, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        } else if (subscriber.department != null) {
+            byDepartment.computeIfAbsent(subscriber.department, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        } else {
+            unfiltered.add(subscriber);
+        }
+    }
+
+    private void unregister(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        if (subscriber.staffId != null) {
+            removeFrom(byStaff, subscriber.staffId, subscriber);
+        } else if (subscriber.department != null) {
+            removeFrom(byDepartment, subscriber.department, subscriber);
+        } else {
+            unfiltered.remove(subscriber);
+        }
+    }
+
+    private static void removeFrom(Map<String, Set<Subscriber>> index, String key, Subscriber subscriber) {
+        index.computeIfPresent(key, (k, bucket) -> {
+            bucket.remove(subscriber);
+            return bucket.isEmpty() ? null : bucket;
+        });
+    }
+
+    private void dispatchLoop() {
+        long seenDrops = 0;
+        while (running) {
+            TaskChangedEvent event = ring.poll();
+            if (event == null) {
+                long drops = droppedEvents.get();
+                if (drops != seenDrops) {
+                    seenDrops = drops;
+                    subscribers.forEach(Subscriber::requestResync);
+                    continue;
+                }
+                // Announce the wait, then look once more so a concurrent offer cannot be missed
+                dispatcherWaiting = true;
+                event = ring.poll();
+                if (event == null) {
+                    LockSupport.parkNanos(this, DISPATCHER_PARK_NANOS);
+                    dispatcherWaiting = false;
+                    continue;
+                }
+                dispatcherWaiting = false;
+            }
+            try {
+                dispatch(event);
+            } catch (RuntimeException e) {
+                // One change that cannot be streamed must not stop the board. Which subscribers it was meant
+                // for may be unknown, so every one of them resyncs rather than silently missing it
+                log.warn("Could not stream {} of task {}; subscribers will resync", event.getType(), event.getTaskId(), e);
+                seenDrops = droppedEvents.incrementAndGet();
+                subscribers.forEach(Subscriber::requestResync);
+            }
+        }
+    }
+
+    private void dispatch(TaskChangedEvent event) {
+        Task task = event.getTask();
+        PendingEvent pending = render(event);
+        if (task == null) {
+            // Deletions no longer know their assignee, so every board hears about them
+            subscribers.forEach(subscriber -> subscriber.enqueue(pending));
+            return;
+        }
+
+        Staff staff = task.getAssignedStaffId() != null ? staffService.findStaffById(task.getAssignedStaffId()) : null;
+        String department = staff != null ? staff.getDepartment() : null;
+        unfiltered.forEach(subscriber -> subscriber.enqueue(pending));
+        dispatchTo(task.getAssignedStaffId(), department, pending);
+        // A task that moved away must also leave the boards of its previous assignee and department
+        String previousStaffId = event.getPreviousStaffId();
+        if (previousStaffId != null) {
+            String previousDepartment = event.getPreviousDepartment();
+            dispatchTo(previousStaffId, previousDepartment, pending);
+            if (previousDepartment != null && !previousDepartment.equals(department)) {
+                byDepartment.getOrDefault(previousDepartment, Set.of()).forEach(subscriber -> subscriber.enqueue(pending));
+            }
+        }
+        if (department != null) {
+            byDepartment.getOrDefault(department, Set.of()).forEach(subscriber -> subscriber.enqueue(pending));
+        }
+    }
+
+    /**
+     * Hand a change to the subscribers following the staff member, within their department filter
+     */
+    private void dispatchTo(String staffId, String department, PendingEvent pending) {
+        if (staffId == null) {
+            return;
+        }
+        for (Subscriber subscriber : byStaff.getOrDefault(staffId, Set.of())) {
+            if (subscriber.department == null || subscriber.department.equals(department)) {
+                subscriber.enqueue(pending);
+            }
+        }
+    }
+
+    /**
+     * Serialize a change once for all of its subscribers
+     */
+    private PendingEvent render(TaskChangedEvent event) {
+        TaskStreamEventDto dto = new TaskStreamEventDto(event.getType(), event.getTaskId(), event.getVersion(),
+            event.getSequence(), taskMapper.taskToTaskDto(event.getTask()), event.getComment());
+        try {
+            return new PendingEvent(event.getTaskId(), event.getType().name().toLowerCase(Locale.ROOT),
+                                    event.getSequence(), eventWriter.writeValueAsString(dto));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record PendingEvent(String taskId, String name, long sequence, String json) {}
+
+    /**
+     * One open stream. Pending changes are keyed by task, so a burst of changes to the same task
+     * collapses into its latest state while the subscriber is busy.
+     */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final String staffId;
+        private final String department;
+        private final LinkedHashMap<String, PendingEvent> pending = new LinkedHashMap<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private boolean overflowed;
+        private boolean heartbeatDue;
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, String staffId, String department) {
+            this.emitter = emitter;
+            this.staffId = staffId;
+            this.department = department;
+        }
+
+        void enqueue(PendingEvent event) {
+            synchronized (this) {
+                if (overflowed) {
+                    // A resync is already owed, which covers this change too
+                    return;
+                }
+                pending.put(event.taskId(), event);
+                if (pending.size() > subscriberQueueSize) {
+                    pending.clear();
+                    overflowed = true;
+                }
+            }
+            schedule();
+        }
+
+        void requestResync() {
+            synchronized (this) {
+                pending.clear();
+                overflowed = true;
+            }
+            schedule();
+        }
+
+        void heartbeat() {
+            synchronized (this) {
+                heartbeatDue = true;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (!closed && scheduled.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        /**
+         * Runs on a sender thread, at most once per subscriber at a time
+         */
+        private void drain() {
+            while (!closed) {
+                List<SseEmitter.SseEventBuilder> batch = new ArrayList<>();
+                synchronized (this) {
+                    if (overflowed) {
+                        batch.add(SseEmitter.event().name("resync").data(position()));
+                        overflowed = false;
+                    }
+                    for (PendingEvent event : pending.values()) {
+                        batch.add(SseEmitter.event().name(event.name()).id(Long.toString(event.sequence())).data(event.json()));
+                    }
+                    pending.clear();
+                    if (batch.isEmpty() && heartbeatDue) {
+                        batch.add(SseEmitter.event().comment("heartbeat"));
+                    }
+                    heartbeatDue = false;
+                    if (batch.isEmpty()) {
+                        // Cleared under the lock, so an enqueue after this point schedules a new drain
+                        scheduled.set(false);
+                        return;
+                    }
+                }
+                try {
+                    for (SseEmitter.SseEventBuilder event : batch) {
+                        emitter.send(event);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    // Client gone or emitter already completed
+                    close();
+                }
+            }
+            scheduled.set(false);
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            unregister(this);
+            try {
+                emitter.complete();
+            } catch (IllegalStateException e) {
+                // Already completed by the container
+            }
+        }
+    }
+}
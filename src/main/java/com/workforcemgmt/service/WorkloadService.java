@@ -0,0 +1,88 @@
+package com.workforcemgmt.service;
+
+import com.workforcemgmt.dto.StaffWorkloadDto;
+import com.workforcemgmt.dto.WorkloadHeatmapDto;
+import com.workforcemgmt.model.Staff;
+import com.workforcemgmt.model.Task;
+import com.workforcemgmt.model.TaskStatus;
+import com.workforcemgmt.store.TaskIndex;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Service building the staff workload heatmap from the task span index
+ */
+@Service
+public class WorkloadService {
+    private static final int MAX_DAYS = 366;
+
+    private final TaskService taskService;
+    private final StaffService staffService;
+
+    public WorkloadService(TaskService taskService, StaffService staffService) {
+        this.taskService = taskService;
+        this.staffService = staffService;
+    }
+
+    /**
+     * Active tasks per staff member for every day from {@code from} to {@code to}, optionally for
+     * one department. Each task adds one at the first day of its span inside the window and
+     * subtracts one after the last, so a row costs one pass over its tasks plus one over the days.
+     */
+    public WorkloadHeatmapDto getWorkloadHeatmap(LocalDate from, LocalDate to, String department) {
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days < 1 || days > MAX_DAYS) {
+            throw new IllegalArgumentException("Heatmap window must be 1 to " + MAX_DAYS + " days, from " + from + " to " + to);
+        }
+
+        Map<String, int[]> deltasByStaff = new TreeMap<>();
+        if (department == null) {
+            // Every staff member gets a row, idle ones included
+            for (Staff staff : staffService.getAllStaff()) {
+                deltasByStaff.put(staff.getId(), new int[(int) days + 1]);
+            }
+        }
+        for (Task task : taskService.getOverlappingTasks(from, to, TaskStatus.ACTIVE, null)) {
+            String staffId = task.getAssignedStaffId();
+            if (staffId == null || (department != null && !inDepartment(staffId, department))) {
+                continue;
+            }
+            LocalDate start = TaskIndex.spanStart(task.getStartDate(), task.getDueDate());
+            LocalDate end = TaskIndex.spanEnd(task.getStartDate(), task.getDueDate());
+            int[] deltas = deltasByStaff.computeIfAbsent(staffId, id -> new int[(int) days + 1]);
+            deltas[(int) Math.max(0, ChronoUnit.DAYS.between(from, start))]++;
+            deltas[(int) Math.min(days, ChronoUnit.DAYS.between(from, end) + 1)]--;
+        }
+        if (department != null) {
+            for (Staff staff : staffService.getAllStaff()) {
+                if (department.equals(staff.getDepartment())) {
+                    deltasByStaff.computeIfAbsent(staff.getId(), id -> new int[(int) days + 1]);
+                }
+            }
+        }
+
+        List<StaffWorkloadDto> rows = new ArrayList<>(deltasByStaff.size());
+        for (Map.Entry<String, int[]> entry : deltasByStaff.entrySet()) {
+            int[] deltas = entry.getValue();
+            int[] counts = new int[(int) days];
+            int running = 0;
+            int peak = 0;
+            for (int day = 0; day < days; day++) {
+                running += deltas[day];
+                counts[day] = running;
+                peak = Math.max(peak, running);
+            }
+            Staff staff = staffService.findStaffById(entry.getKey());
+            rows.add(new StaffWorkloadDto(entry.getKey(), staff != null ? staff.getName() : null, counts, peak));
+        }
+        return new WorkloadHeatmapDto(from, to, rows);
+    }
+
+    private boolean inDepartment(String staffId, String department) {
+        Staff staff = staffService.findStaffById(staffId);
+        return staff != null && department.equals(staff.getDepartment());
+    }
+}
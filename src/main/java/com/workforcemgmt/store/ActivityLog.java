@@ -0,0 +1,243 @@
+package com.workforcemgmt.store;
+
+import com.workforcemgmt.event.EventRing;
+import com.workforcemgmt.model.ActivityEntry;
+import com.workforcemgmt.model.Task;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous writer for task activity history. Mutations only capture who did what and when
+ * and publish it to a bounded lock-free ring; a single background writer builds the entries
+ * (id, description) and appends them to each task's history in batches, one copy of the history
+ * per task per batch.
+ *
+ * Positions in the ring double as a sequence watermark: the writer advances {@code applied} after
+ * each batch, and readers that render history first wait for the last sequence appended to their
+ * task, so a client always reads its own writes. A full ring pushes back on the mutating thread
+ * rather than losing history. A failing description is logged and replaced, so one bad entry
+ * never stops the writer.
+ */
+@Component
+public class ActivityLog {
+    private static final Logger log = LoggerFactory.getLogger(ActivityLog.class);
+    private static final int BATCH_SIZE = 256;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final Comparator<ActivityEntry> CHRONOLOGICAL = Comparator.comparing(ActivityEntry::getTimestamp);
+
+    private final EventRing<PendingActivity> ring;
+    private final Map<String, Long> lastSequenceByTask = new ConcurrentHashMap<>();
+    private final Object appliedMonitor = new Object();
+    private final Thread writer;
+    private volatile long applied;
+    private volatile int waiters;
+    private volatile boolean writerWaiting;
+    private volatile boolean running = true;
+
+    public ActivityLog(@Value("${workforce.activity.queue-size:16384}") int queueSize) {
+        this.ring = new EventRing<>(queueSize);
+        this.writer = new Thread(this::writeLoop, "activity-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queue an activity entry for the task. The description is built on the writer thread.
+     *
+     * @return the entry, available once the writer has applied it; {@code get()} waits for that
+     */
+    public Supplier<ActivityEntry> append(Task task, String userId, String userName, String action,
+                                         Supplier<String> description) {
+        PendingActivity pending = new PendingActivity(task, userId, userName, action, description, LocalDateTime.now());
+        long position;
+        while ((position = ring.publish(pending)) < 0) {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+        pending.sequence = position + 1;
+        lastSequenceByTask.merge(task.getId(), pending.sequence, Math::max);
+        if (applied >= pending.sequence) {
+            // The writer applied the entry before the sequence was recorded, so its removal missed it
+            lastSequenceByTask.remove(task.getId(), pending.sequence);
+        }
+        if (writerWaiting) {
+            LockSupport.unpark(writer);
+        }
+        return pending;
+    }
+
+    /**
+     * Wait until every activity appended to the task so far is part of its history
+     */
+    public void awaitTask(String taskId) {
+        Long sequence = lastSequenceByTask.get(taskId);
+        if (sequence != null) {
+            awaitApplied(sequence);
+        }
+    }
+
+    /**
+     * Drop what is known about a deleted task; activity still queued for it is written and forgotten
+     */
+    public void forgetTask(String taskId) {
+        lastSequenceByTask.remove(taskId);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void awaitApplied(long sequence) {
+        if (applied >= sequence) {
+            return;
+        }
+        synchronized (appliedMonitor) {
+            waiters++;
+            try {
+                while (applied < sequence) {
+                    appliedMonitor.wait(10);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                waiters--;
+            }
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingActivity> batch = new ArrayList<>(BATCH_SIZE);
+        while (true) {
+            PendingActivity next = ring.poll();
+            if (next == null) {
+                if (!running) {
+                    return;
+                }
+                // Announce the wait, then look once more so a concurrent append cannot be missed
+                writerWaiting = true;
+                next = ring.poll();
+                if (next == null) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                    writerWaiting = false;
+                    continue;
+                }
+                writerWaiting = false;
+            }
+
+            batch.add(next);
+            while (batch.size() < BATCH_SIZE && (next = ring.poll()) != null) {
+                batch.add(next);
+            }
+            long first = applied + 1;
+            try {
+                write(batch);
+            } catch (RuntimeException e) {
+                // The writer is the only thread draining the ring; losing it would block every mutation
+                log.error("Failed to write {} activity entries", batch.size(), e);
+            } finally {
+                // Advance even if the batch failed, or readers of the task would wait forever
+                applied = first + batch.size() - 1;
+                if (waiters > 0) {
+                    synchronized (appliedMonitor) {
+                        appliedMonitor.notifyAll();
+                    }
+                }
+                for (int i = 0; i < batch.size(); i++) {
+                    lastSequenceByTask.remove(batch.get(i).task.getId(), first + i);
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingActivity> batch) {
+        Map<Task, List<ActivityEntry>> entriesByTask = new IdentityHashMap<>();
+        for (PendingActivity pending : batch) {
+            pending.entry = new ActivityEntry(
+                UUID.randomUUID().toString(),
+                pending.task.getId(),
+                pending.userId,
+                pending.userName,
+                pending.action,
+                describe(pending),
+                pending.timestamp
+            );
+            entriesByTask.computeIfAbsent(pending.task, task -> new ArrayList<>()).add(pending.entry);
+        }
+
+        for (Map.Entry<Task, List<ActivityEntry>> taskEntries : entriesByTask.entrySet()) {
+            List<ActivityEntry> history = taskEntries.getKey().getActivityHistory();
+            List<ActivityEntry> entries = taskEntries.getValue();
+            boolean inOrder = isChronological(entries)
+                && (history.isEmpty() || !entries.get(0).getTimestamp().isBefore(history.get(history.size() - 1).getTimestamp()));
+            history.addAll(entries);
+            if (!inOrder) {
+                // Timestamps are taken on the mutating threads, so concurrent writers can arrive slightly out of order
+                history.sort(CHRONOLOGICAL);
+            }
+        }
+    }
+
+    private static String describe(PendingActivity pending) {
+        try {
+            return pending.description.get();
+        } catch (RuntimeException e) {
+            log.warn("Failed to describe {} activity on task {}", pending.action, pending.task.getId(), e);
+            return pending.action;
+        }
+    }
+
+    private static boolean isChronological(List<ActivityEntry> entries) {
+        for (int i = 1; i < entries.size(); i++) {
+            if (entries.get(i).getTimestamp().isBefore(entries.get(i - 1).getTimestamp())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * An activity waiting for the writer; resolves to its entry once written
+     */
+    private final class PendingActivity implements Supplier<ActivityEntry> {
+        private final Task task;
+        private final String userId;
+        private final String userName;
+        private final String action;
+        private final Supplier<String> description;
+        private final LocalDateTime timestamp;
+        private long sequence;
+        // Published to readers by the volatile write of applied
+        private ActivityEntry entry;
+
+        PendingActivity(Task task, String userId, String userName, String action,
+                        Supplier<String> description, LocalDateTime timestamp) {
+            this.task = task;
+            this.userId = userId;
+            this.userName = userName;
+            this.action = action;
+            this.description = description;
+            this.timestamp = timestamp;
+        }
+
+        @Override
+        public ActivityEntry get() {
+            awaitApplied(sequence);
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.workforcemgmt.store;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Global change sequence and a bounded log of the most recent changes, indexed by sequence.
+ * Every task and staff mutation appends the id it touched; sync clients ask for everything
+ * after the last sequence they saw. The log is a ring, so only the newest {@code capacity}
+ * changes are retained and older cursors must fall back to a full resync.
+ *
+ * Sequences restart at zero with the process, so cursors handed to clients are prefixed with a
+ * random epoch chosen at startup, {@code <epoch>:<sequence>}. A cursor from an earlier process
+ * never matches the epoch and is answered with a full resync instead of a wrong delta.
+ */
+@Component
+public class ChangeLog {
+    public enum EntityType { TASK, STAFF }
+
+    public record Change(long sequence, EntityType type, String id) {}
+
+    /**
+     * Changes after a cursor, up to and including {@code sequence}
+     */
+    public record Window(long sequence, List<Change> changes) {}
+
+    private final Change[] ring;
+    private final int mask;
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private long sequence;
+
+    public ChangeLog(@Value("${workforce.sync.change-log-capacity:16384}") int capacity) {
+        // Power of two so the slot for a sequence is a mask away
+        int size = capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.ring = new Change[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Stamp a change with the next sequence number. Assigning and publishing the sequence under
+     * one lock means a reader can never see sequence n+1 while n is still missing.
+     */
+    public synchronized long append(EntityType type, String id) {
+        long next = ++sequence;
+        ring[(int) (next & mask)] = new Change(next, type, id);
+        return next;
+    }
+
+    public synchronized long currentSequence() {
+        return sequence;
+    }
+
+    public String epoch() {
+        return epoch;
+    }
+
+    /**
+     * Cursor for clients that have seen every change up to and including {@code sequence}
+     */
+    public String cursor(long sequence) {
+        return epoch + ':' + sequence;
+    }
+
+    public synchronized String currentCursor() {
+        return cursor(sequence);
+    }
+
+    /**
+     * Changes with a sequence greater than {@code since}, oldest first, or null when the cursor
+     * is older than the retained log or ahead of it (e.g. issued before a restart)
+     */
+    public synchronized Window since(long since) {
+        if (since > sequence || since < sequence - ring.length) {
+            return null;
+        }
+        List<Change> changes = new ArrayList<>((int) (sequence - since));
+        for (long s = since + 1; s <= sequence; s++) {
+            changes.add(ring[(int) (s & mask)]);
+        }
+        return new Window(sequence, changes);
+    }
+}
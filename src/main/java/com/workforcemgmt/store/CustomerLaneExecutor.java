@@ -0,0 +1,143 @@
+package com.workforcemgmt.store;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Runs task commands on single-threaded lanes chosen by customer reference hash. Every command
+ * for one customer executes on the same lane thread, one at a time, so multi-step operations
+ * such as reassignment are atomic with respect to each other; commands for customers on other
+ * lanes run in parallel. Submitting is a lock-free queue offer, and a command issued from a lane
+ * thread for its own lane runs inline.
+ */
+@Component
+public class CustomerLaneExecutor {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final Lane[] lanes;
+    private final int mask;
+    private volatile boolean running = true;
+
+    public CustomerLaneExecutor(@Value("${workforce.lanes.count:0}") int laneCount) {
+        int count = laneCount > 0 ? laneCount : Runtime.getRuntime().availableProcessors();
+        // Round up to a power of two so the lane can be picked with a mask
+        int size = count <= 1 ? 1 : Integer.highestOneBit(count - 1) << 1;
+        this.lanes = new Lane[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            lanes[i] = new Lane("customer-lane-" + i);
+        }
+    }
+
+    /**
+     * Run the command on the customer's lane and wait for its result. Commands without a customer
+     * reference cannot conflict on one and run on the calling thread.
+     */
+    public <T> T execute(String customerReference, Supplier<T> command) {
+        if (customerReference == null) {
+            return command.get();
+        }
+        Lane lane = laneFor(customerReference);
+        if (Thread.currentThread() == lane.worker) {
+            return command.get();
+        }
+        if (!running) {
+            throw new IllegalStateException("Customer lanes are shut down");
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        lane.submit(() -> {
+            try {
+                result.complete(command.get());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            // Rethrow as thrown on the lane, so callers and exception handlers see the original type
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Lane a customer's commands run on; customers with the same lane can share one command, e.g.
+     * a batch touching several of them. -1 for no customer reference, which has no lane.
+     */
+    public int laneOf(String customerReference) {
+        if (customerReference == null) {
+            return -1;
+        }
+        int h = customerReference.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    public int laneCount() {
+        return lanes.length;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        for (Lane lane : lanes) {
+            LockSupport.unpark(lane.worker);
+        }
+    }
+
+    private Lane laneFor(String customerReference) {
+        return lanes[laneOf(customerReference)];
+    }
+
+    private final class Lane {
+        private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+        private final Thread worker;
+        private volatile boolean waiting;
+
+        Lane(String name) {
+            this.worker = new Thread(this::run, name);
+            worker.setDaemon(true);
+            worker.start();
+        }
+
+        void submit(Runnable command) {
+            commands.offer(command);
+            if (waiting) {
+                LockSupport.unpark(worker);
+            }
+        }
+
+        private void run() {
+            while (running || !commands.isEmpty()) {
+                Runnable command = commands.poll();
+                if (command == null) {
+                    // Announce the wait, then look once more so a concurrent submit cannot be missed
+                    waiting = true;
+                    command = commands.poll();
+                    if (command == null) {
+                        LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                        waiting = false;
+                        continue;
+                    }
+                    waiting = false;
+                }
+                command.run();
+            }
+        }
+    }
+}
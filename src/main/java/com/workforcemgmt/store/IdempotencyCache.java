@@ -0,0 +1,187 @@
+package com.workforcemgmt.store;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.workforcemgmt.exception.IdempotencyKeyReusedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Results of recent non-idempotent commands, keyed by the client's Idempotency-Key. The first
+ * request with a key runs the command; retries with the same key get its result back, and
+ * concurrent duplicates wait for the in-flight execution instead of running it again. Failed
+ * commands are forgotten so the client can retry them.
+ *
+ * Each entry keeps a SHA-256 fingerprint of the request that claimed it, taken from its JSON with
+ * map entries sorted. A key reused with a different request is rejected rather than answered with
+ * the result of another command.
+ *
+ * Every entry lives for the same time to live, so insertion order is expiry order and expired
+ * entries are dropped from the head of a queue on each insert. Beyond {@code maxEntries} the
+ * oldest results are evicted early.
+ */
+@Component
+public class IdempotencyCache {
+    public static final int MAX_KEY_LENGTH = 255;
+
+    /**
+     * A command result and whether it was served from an earlier execution
+     */
+    public record Outcome<T>(T value, boolean replayed) {}
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    // Queued entries, including failed ones not yet dropped from the queue
+    private final AtomicInteger size = new AtomicInteger();
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final ObjectWriter fingerprintWriter;
+    private final Counter executed;
+    private final Counter replayed;
+    private final Counter joined;
+
+    public IdempotencyCache(@Value("${workforce.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${workforce.idempotency.max-entries:100000}") int maxEntries,
+                            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.fingerprintWriter = objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.executed = outcomeCounter(meterRegistry, "miss");
+        this.replayed = outcomeCounter(meterRegistry, "hit");
+        this.joined = outcomeCounter(meterRegistry, "in_flight");
+        meterRegistry.gauge("workforce.idempotency.entries", entries, Map::size);
+    }
+
+    /**
+     * Run the command once per key within {@code scope}, or return the result of the run that
+     * already claimed the key. A null key always runs the command.
+     *
+     * @param request what the command was asked to do, compared with the request that claimed the key
+     * @throws IdempotencyKeyReusedException if the key was claimed by a different request
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Outcome<T> execute(String scope, String key, Object request, Supplier<T> command) {
+        if (key == null) {
+            return new Outcome<>(command.get(), false);
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String cacheKey = scope + ':' + key;
+        long now = System.nanoTime();
+        Entry claim = new Entry(cacheKey, now + ttlNanos, fingerprint(request));
+        while (true) {
+            Entry existing = entries.putIfAbsent(cacheKey, claim);
+            if (existing == null) {
+                break;
+            }
+            if (existing.expiresAt - now > 0) {
+                if (!MessageDigest.isEqual(existing.fingerprint, claim.fingerprint)) {
+                    throw new IdempotencyKeyReusedException("Idempotency-Key " + key + " was already used for a different request");
+                }
+                (existing.result.isDone() ? replayed : joined).increment();
+                return new Outcome<>((T) await(existing.result), true);
+            }
+            // Expired but not yet evicted; take its place and run the command afresh
+            if (entries.replace(cacheKey, existing, claim)) {
+                break;
+            }
+        }
+
+        executed.increment();
+        insertionOrder.offer(claim);
+        size.incrementAndGet();
+        evict(now);
+        try {
+            T value = command.get();
+            claim.result.complete(value);
+            return new Outcome<>(value, false);
+        } catch (RuntimeException | Error e) {
+            // Duplicates already waiting see the failure; later retries run the command again
+            entries.remove(cacheKey, claim);
+            claim.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private void evict(long now) {
+        Entry oldest;
+        while ((oldest = insertionOrder.peek()) != null
+                && (oldest.expiresAt - now <= 0 || size.get() > maxEntries)) {
+            if (insertionOrder.remove(oldest)) {
+                size.decrementAndGet();
+                // Never drop a command that is still running, or its duplicates would run it again
+                if (oldest.result.isDone()) {
+                    entries.remove(oldest.key, oldest);
+                } else {
+                    insertionOrder.offer(oldest);
+                    size.incrementAndGet();
+                    return;
+                }
+            }
+        }
+    }
+
+    private byte[] fingerprint(Object request) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(fingerprintWriter.writeValueAsBytes(request));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Request cannot be fingerprinted", e);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            // Rethrow as the original command did, so duplicates get the same error response
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("workforce.idempotency.requests")
+            .description("Requests carrying an Idempotency-Key, by whether the command ran or an earlier result was reused")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    private static final class Entry {
+        private final String key;
+        private final long expiresAt;
+        private final byte[] fingerprint;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        Entry(String key, long expiresAt, byte[] fingerprint) {
+            this.key = key;
+            this.expiresAt = expiresAt;
+            this.fingerprint = fingerprint;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.workforcemgmt.store;
+
+import java.util.function.Consumer;
+
+/**
+ * Persistent interval tree of task spans, as a treap ordered by (start, id) where every node also
+ * holds the greatest end in its subtree. Overlap queries descend only into subtrees that can still
+ * reach the window, so they cost O(log n + matches) instead of a scan.
+ *
+ * Updates copy the nodes on the path they change and publish a new root, so readers walk a
+ * consistent version without locking. Updates themselves must be serialized by the caller.
+ * Bounds are inclusive and given as epoch days.
+ */
+final class IntervalTree {
+    private volatile Node root;
+
+    /**
+     * Add an interval; the (start, id) pair must not be present yet
+     */
+    void insert(long start, long end, String id) {
+        Node node = new Node(start, end, id, priority(id), null, null);
+        Node[] parts = split(root, start, id);
+        root = merge(merge(parts[0], node), parts[1]);
+    }
+
+    void delete(long start, String id) {
+        Node[] parts = split(root, start, id);
+        // The right part starts with the node itself if it is present
+        root = merge(parts[0], removeFirst(parts[1], start, id));
+    }
+
+    /**
+     * Ids of intervals that share at least one day with [from, to]
+     */
+    void overlapping(long from, long to, Consumer<String> consumer) {
+        overlapping(root, from, to, consumer);
+    }
+
+    private static void overlapping(Node node, long from, long to, Consumer<String> consumer) {
+        while (node != null && node.maxEnd >= from) {
+            overlapping(node.left, from, to, consumer);
+            if (node.start > to) {
+                // Everything to the right starts even later
+                return;
+            }
+            if (node.end >= from) {
+                consumer.accept(node.id);
+            }
+            node = node.right;
+        }
+    }
+
+    /**
+     * Split into nodes ordered before (start, id) and the rest
+     */
+    private static Node[] split(Node node, long start, String id) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (compare(node.start, node.id, start, id) < 0) {
+            Node[] parts = split(node.right, start, id);
+            return new Node[] {node.with(node.left, parts[0]), parts[1]};
+        }
+        Node[] parts = split(node.left, start, id);
+        return new Node[] {parts[0], node.with(parts[1], node.right)};
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            return left.with(left.left, merge(left.right, right));
+        }
+        return right.with(merge(left, right.left), right.right);
+    }
+
+    private static Node removeFirst(Node node, long start, String id) {
+        if (node == null) {
+            return null;
+        }
+        if (node.left != null) {
+            Node left = removeFirst(node.left, start, id);
+            return left == node.left ? node : node.with(left, node.right);
+        }
+        return node.start == start && node.id.equals(id) ? node.right : node;
+    }
+
+    private static int compare(long startA, String idA, long startB, String idB) {
+        int byStart = Long.compare(startA, startB);
+        return byStart != 0 ? byStart : idA.compareTo(idB);
+    }
+
+    private static int priority(String id) {
+        // Ids are random UUIDs, a mixed hash of them is as good as a random priority
+        int h = id.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Node {
+        private final long start;
+        private final long end;
+        private final String id;
+        private final int priority;
+        private final Node left;
+        private final Node right;
+        private final long maxEnd;
+
+        Node(long start, long end, String id, int priority, Node left, Node right) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            long maxEnd = end;
+            if (left != null) maxEnd = Math.max(maxEnd, left.maxEnd);
+            if (right != null) maxEnd = Math.max(maxEnd, right.maxEnd);
+            this.maxEnd = maxEnd;
+        }
+
+        Node with(Node left, Node right) {
+            return left == this.left && right == this.right ? this : new Node(start, end, id, priority, left, right);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.workforcemgmt.store;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of read queries. Concurrent callers asking the same query while the
+ * store is unchanged share one computation: the first runs it, the rest wait for its result.
+ * A finished result is also served for {@code micro-cache-ttl} afterwards, as long as the store's
+ * modification count still matches the one the query started at, so a reader never gets a
+ * result older than its own writes. Results are shared between callers and must not be modified.
+ *
+ * Every query is counted by outcome per query name: executed, joined (waited for an in-flight
+ * run) or cached. Joined plus cached is the number of executions saved; the execution timer gives
+ * what each of them would have cost.
+ */
+@Component
+public class QueryCoalescer {
+    private final TaskStore taskStore;
+    private final MeterRegistry meterRegistry;
+    private final long cacheTtlNanos;
+    private final int maxEntries;
+    private final Map<Object, Flight> flights = new ConcurrentHashMap<>();
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+
+    public QueryCoalescer(TaskStore taskStore, MeterRegistry meterRegistry,
+                          @Value("${workforce.query.micro-cache-ttl:0s}") Duration cacheTtl,
+                          @Value("${workforce.query.max-entries:1024}") int maxEntries) {
+        this.taskStore = taskStore;
+        this.meterRegistry = meterRegistry;
+        this.cacheTtlNanos = cacheTtl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Run the query, or share the result of an identical one started at the current store version.
+     *
+     * @param name  metric name of the query, e.g. "smart-daily"
+     * @param key   the query and its parameters; needs value equality
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String name, Object key, Supplier<T> query) {
+        Meters queryMeters = meters.computeIfAbsent(name, this::register);
+        long modificationCount = taskStore.modificationCount();
+        Flight flight = new Flight(modificationCount);
+        while (true) {
+            Flight existing = flights.putIfAbsent(key, flight);
+            if (existing == null) {
+                break;
+            }
+            if (existing.modificationCount == modificationCount) {
+                if (!existing.result.isDone()) {
+                    queryMeters.joined.increment();
+                    return (T) await(existing.result);
+                }
+                if (System.nanoTime() - existing.completedAt < cacheTtlNanos && !existing.result.isCompletedExceptionally()) {
+                    queryMeters.cached.increment();
+                    return (T) existing.result.join();
+                }
+            }
+            // Stale: computed for an older store version or past its time to live
+            if (flights.replace(key, existing, flight)) {
+                break;
+            }
+        }
+
+        queryMeters.executed.increment();
+        if (flights.size() > maxEntries) {
+            evictExpired();
+        }
+        try {
+            T result = queryMeters.executionTime.record(query);
+            flight.completedAt = System.nanoTime();
+            flight.result.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            if (cacheTtlNanos <= 0 || flight.result.isCompletedExceptionally()) {
+                flights.remove(key, flight);
+            }
+        }
+    }
+
+    private void evictExpired() {
+        long now = System.nanoTime();
+        long current = taskStore.modificationCount();
+        flights.values().removeIf(flight -> flight.result.isDone()
+            && (flight.modificationCount != current || now - flight.completedAt >= cacheTtlNanos));
+    }
+
+    private Meters register(String name) {
+        return new Meters(
+            outcomeCounter(name, "executed"),
+            outcomeCounter(name, "joined"),
+            outcomeCounter(name, "cached"),
+            Timer.builder("workforce.query.execution")
+                .description("Time spent computing coalesced queries")
+                .tag("query", name)
+                .register(meterRegistry));
+    }
+
+    private Counter outcomeCounter(String name, String outcome) {
+        return Counter.builder("workforce.query.requests")
+            .description("Coalesced query requests, by whether they ran the query or shared another request's result")
+            .tag("query", name)
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    private static Object await(CompletableFuture<Object> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            // Waiters fail the same way as the request that ran the query
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Meters(Counter executed, Counter joined, Counter cached, Timer executionTime) {}
+
+    private static final class Flight {
+        private final long modificationCount;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        // Published to other callers by completing the future
+        private long completedAt;
+
+        Flight(long modificationCount) {
+            this.modificationCount = modificationCount;
+        }
+    }
+}
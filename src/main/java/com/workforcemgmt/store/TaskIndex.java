@@ -0,0 +1,203 @@
+package com.workforcemgmt.store;
+
+import com.workforcemgmt.model.Priority;
+import com.workforcemgmt.model.Task;
+import com.workforcemgmt.model.TaskStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Secondary indexes over the task store, keyed by status, priority, assigned staff,
+ * customer reference and start date. Each index maps a key to the set of task ids
+ * carrying it. Tasks are mutated in place, so the index remembers the keys each task
+ * was last indexed under and {@link #reindex(Task)} moves it between buckets.
+ * The start..due span of every task is also kept in an interval tree for overlap queries.
+ */
+@Component
+public class TaskIndex {
+    private final Map<TaskStatus, Set<String>> byStatus = new ConcurrentHashMap<>();
+    private final Map<Priority, Set<String>> byPriority = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> byStaff = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> byCustomerReference = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<LocalDate, Set<String>> byStartDate = new ConcurrentSkipListMap<>();
+    private final IntervalTree bySpan = new IntervalTree();
+    private final Map<String, IndexedKeys> indexedKeys = new ConcurrentHashMap<>();
+
+    /**
+     * Index a task, or move it to new buckets if any indexed field changed since it was last indexed
+     */
+    public synchronized void reindex(Task task) {
+        IndexedKeys current = IndexedKeys.of(task);
+        IndexedKeys previous = indexedKeys.put(task.getId(), current);
+        if (current.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            removeKeys(task.getId(), previous);
+        }
+        addKeys(task.getId(), current);
+    }
+
+    /**
+     * Reindex several tasks at once; no reader sees some of them moved and others not
+     */
+    public synchronized void reindexAll(Collection<Task> tasks) {
+        for (Task task : tasks) {
+            reindex(task);
+        }
+    }
+
+    public synchronized void remove(String taskId) {
+        IndexedKeys previous = indexedKeys.remove(taskId);
+        if (previous != null) {
+            removeKeys(taskId, previous);
+        }
+    }
+
+    public Set<String> withStatus(TaskStatus status) {
+        return byStatus.getOrDefault(status, Collections.emptySet());
+    }
+
+    public Set<String> withPriority(Priority priority) {
+        return byPriority.getOrDefault(priority, Collections.emptySet());
+    }
+
+    public Set<String> assignedTo(String staffId) {
+        return byStaff.getOrDefault(staffId, Collections.emptySet());
+    }
+
+    public Set<String> withCustomerReference(String customerReference) {
+        return byCustomerReference.getOrDefault(customerReference, Collections.emptySet());
+    }
+
+    /**
+     * Ids of tasks whose start date falls in the given window. Either bound may be null for an open range.
+     */
+    public Set<String> startingBetween(LocalDate from, LocalDate to) {
+        Set<String> ids = new HashSet<>();
+        startDateRange(from, to).values().forEach(ids::addAll);
+        return ids;
+    }
+
+    /**
+     * Cheap upper bound on {@link #startingBetween} without materializing the id set
+     */
+    public int estimateStartingBetween(LocalDate from, LocalDate to) {
+        int estimate = 0;
+        for (Set<String> ids : startDateRange(from, to).values()) {
+            estimate += ids.size();
+        }
+        return estimate;
+    }
+
+    /**
+     * Ids of tasks whose start..due span shares at least one day with [from, to], both inclusive.
+     * A task with only one of the two dates spans that single day.
+     */
+    public Set<String> overlapping(LocalDate from, LocalDate to) {
+        Set<String> ids = new HashSet<>();
+        if (!from.isAfter(to)) {
+            bySpan.overlapping(from.toEpochDay(), to.toEpochDay(), ids::add);
+        }
+        return ids;
+    }
+
+    /**
+     * First day of a task's span, or null when it has neither date
+     */
+    public static LocalDate spanStart(LocalDate startDate, LocalDate dueDate) {
+        return startDate != null ? startDate : dueDate;
+    }
+
+    /**
+     * Last day of a task's span. A due date before the start date is treated as due on the start date.
+     */
+    public static LocalDate spanEnd(LocalDate startDate, LocalDate dueDate) {
+        LocalDate start = spanStart(startDate, dueDate);
+        return dueDate != null && dueDate.isAfter(start) ? dueDate : start;
+    }
+
+    public int size() {
+        return indexedKeys.size();
+    }
+
+    private NavigableMap<LocalDate, Set<String>> startDateRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null) {
+            if (from.isAfter(to)) {
+                return Collections.emptyNavigableMap();
+            }
+            return byStartDate.subMap(from, true, to, true);
+        }
+        if (from != null) {
+            return byStartDate.tailMap(from, true);
+        }
+        if (to != null) {
+            return byStartDate.headMap(to, true);
+        }
+        return byStartDate;
+    }
+
+    private void addKeys(String taskId, IndexedKeys keys) {
+        add(byStatus, keys.status, taskId);
+        add(byPriority, keys.priority, taskId);
+        add(byStaff, keys.staffId, taskId);
+        add(byCustomerReference, keys.customerReference, taskId);
+        add(byStartDate, keys.startDate, taskId);
+        if (keys.spanStart() != null) {
+            bySpan.insert(keys.spanStart().toEpochDay(), keys.spanEnd().toEpochDay(), taskId);
+        }
+    }
+
+    private void removeKeys(String taskId, IndexedKeys keys) {
+        remove(byStatus, keys.status, taskId);
+        remove(byPriority, keys.priority, taskId);
+        remove(byStaff, keys.staffId, taskId);
+        remove(byCustomerReference, keys.customerReference, taskId);
+        remove(byStartDate, keys.startDate, taskId);
+        if (keys.spanStart() != null) {
+            bySpan.delete(keys.spanStart().toEpochDay(), taskId);
+        }
+    }
+
+    private static <K> void add(Map<K, Set<String>> index, K key, String taskId) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(taskId);
+        }
+    }
+
+    private static <K> void remove(Map<K, Set<String>> index, K key, String taskId) {
+        if (key == null) {
+            return;
+        }
+        Set<String> ids = index.get(key);
+        if (ids != null) {
+            ids.remove(taskId);
+            if (ids.isEmpty()) {
+                index.remove(key, ids);
+            }
+        }
+    }
+
+    /**
+     * The index keys a task was last filed under
+     */
+    private record IndexedKeys(TaskStatus status, Priority priority, String staffId,
+                               String customerReference, LocalDate startDate, LocalDate dueDate) {
+        static IndexedKeys of(Task task) {
+            return new IndexedKeys(task.getStatus(), task.getPriority(), task.getAssignedStaffId(),
+                                   task.getCustomerReference(), task.getStartDate(), task.getDueDate());
+        }
+
+        LocalDate spanStart() {
+            return TaskIndex.spanStart(startDate, dueDate);
+        }
+
+        LocalDate spanEnd() {
+            return TaskIndex.spanEnd(startDate, dueDate);
+        }
+    }
+}
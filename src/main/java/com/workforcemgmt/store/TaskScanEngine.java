@@ -0,0 +1,123 @@
+package com.workforcemgmt.store;
+
+import com.workforcemgmt.model.Task;
+import com.workforcemgmt.profiling.TaskQueryEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Runs scan pipelines over the {@link TaskStore}. Small stores are scanned sequentially on the
+ * calling thread; once the input reaches the parallel threshold the pipeline runs as a parallel
+ * stream inside a dedicated fork-join pool, so scans never compete with the common pool.
+ *
+ * Every named query counts the rows it examined and the rows it returned; a large ratio between
+ * the two points at a missing or unselective index. Each one is also a {@link TaskQueryEvent} for
+ * flight recordings.
+ */
+@Component
+public class TaskScanEngine {
+    private final TaskStore taskStore;
+    private final MeterRegistry meterRegistry;
+    private final ForkJoinPool scanPool;
+    private final int parallelThreshold;
+    private final Map<String, RowCounters> rowCounters = new ConcurrentHashMap<>();
+
+    public TaskScanEngine(TaskStore taskStore, MeterRegistry meterRegistry,
+                          @Value("${workforce.scan.parallelism:0}") int parallelism,
+                          @Value("${workforce.scan.parallel-threshold:8192}") int parallelThreshold) {
+        this.taskStore = taskStore;
+        this.meterRegistry = meterRegistry;
+        this.parallelThreshold = parallelThreshold;
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.scanPool = new ForkJoinPool(threads, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("task-scan-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * Apply a pipeline to a stream over the whole store
+     */
+    public <R> R scan(Function<Stream<Task>, R> pipeline) {
+        if (taskStore.size() < parallelThreshold) {
+            return pipeline.apply(taskStore.stream(false));
+        }
+        return scanPool.submit(() -> pipeline.apply(taskStore.stream(true))).join();
+    }
+
+    /**
+     * Scan the whole store for the tasks matching the predicate
+     *
+     * @param query metric name of the query, e.g. "smart-daily"
+     */
+    public List<Task> filter(String query, Predicate<Task> predicate) {
+        TaskQueryEvent event = new TaskQueryEvent();
+        event.begin();
+        int scanned = taskStore.size();
+        List<Task> tasks = scan(stream -> stream.filter(predicate).collect(Collectors.toList()));
+        countRows(query, scanned, tasks.size());
+        event.finish(query, scanned, tasks.size(), scanned >= parallelThreshold);
+        return tasks;
+    }
+
+    /**
+     * Look up candidate ids from an index and keep the tasks matching the predicate
+     *
+     * @param query metric name of the query, e.g. "smart-daily"
+     */
+    public List<Task> resolve(String query, Collection<String> taskIds, Predicate<Task> predicate) {
+        Function<Stream<String>, List<Task>> pipeline = ids -> ids
+            .map(taskStore::get)
+            .filter(Objects::nonNull)
+            .filter(predicate)
+            .collect(Collectors.toList());
+        TaskQueryEvent event = new TaskQueryEvent();
+        event.begin();
+        int scanned = taskIds.size();
+        List<Task> tasks = scanned < parallelThreshold
+            ? pipeline.apply(taskIds.stream())
+            : scanPool.submit(() -> pipeline.apply(taskIds.parallelStream())).join();
+        countRows(query, scanned, tasks.size());
+        event.finish(query, scanned, tasks.size(), scanned >= parallelThreshold);
+        return tasks;
+    }
+
+    private void countRows(String query, int scanned, int returned) {
+        RowCounters counters = rowCounters.computeIfAbsent(query, name -> new RowCounters(
+            rowCounter(name, "scanned", "Tasks examined by queries"),
+            rowCounter(name, "returned", "Tasks returned by queries")));
+        counters.scanned().increment(scanned);
+        counters.returned().increment(returned);
+    }
+
+    private Counter rowCounter(String query, String kind, String description) {
+        return Counter.builder("workforce.query.rows." + kind)
+            .description(description)
+            .tag("query", query)
+            .register(meterRegistry);
+    }
+
+    private record RowCounters(Counter scanned, Counter returned) {}
+
+    @PreDestroy
+    public void shutdown() {
+        scanPool.shutdown();
+    }
+}
@@ -0,0 +1,189 @@
+package com.workforcemgmt.store;
+
+import com.workforcemgmt.model.Task;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * In-memory task storage partitioned into a power-of-two number of segments by task id hash.
+ * Segments give parallel scans natural split points: a spliterator over the store first splits
+ * by segment ranges and only then into the segments themselves.
+ */
+@Component
+public class TaskStore {
+    private final ConcurrentHashMap<String, Task>[] segments;
+    private final int mask;
+    private final AtomicLong modificationCount = new AtomicLong();
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TaskStore(@Value("${workforce.store.segments:16}") int segmentCount) {
+        // Round up to a power of two so the segment can be picked with a mask
+        int size = segmentCount <= 1 ? 1 : Integer.highestOneBit(segmentCount - 1) << 1;
+        this.segments = new ConcurrentHashMap[size];
+        for (int i = 0; i < size; i++) {
+            segments[i] = new ConcurrentHashMap<>();
+        }
+        this.mask = size - 1;
+    }
+
+    public Task get(String id) {
+        return segmentFor(id).get(id);
+    }
+
+    public Task put(Task task) {
+        return segmentFor(task.getId()).put(task.getId(), task);
+    }
+
+    /**
+     * Store a batch of tasks, e.g. from a bulk import
+     */
+    public void putAll(Collection<Task> tasks) {
+        for (Task task : tasks) {
+            segmentFor(task.getId()).put(task.getId(), task);
+        }
+    }
+
+    public Task remove(String id) {
+        return segmentFor(id).remove(id);
+    }
+
+    /**
+     * Replace a task only if the stored instance is still the expected one
+     */
+    public boolean replace(Task expected, Task replacement) {
+        return segmentFor(expected.getId()).replace(expected.getId(), expected, replacement);
+    }
+
+    public boolean containsKey(String id) {
+        return segmentFor(id).containsKey(id);
+    }
+
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, Task> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Count every committed change to any stored task. A cheap version digest for whole-store views.
+     */
+    public long markModified() {
+        return modificationCount.incrementAndGet();
+    }
+
+    public long modificationCount() {
+        return modificationCount.get();
+    }
+
+    public int segmentCount() {
+        return segments.length;
+    }
+
+    /**
+     * Weakly consistent copy of all tasks currently stored
+     */
+    public List<Task> snapshot() {
+        List<Task> tasks = new ArrayList<>(size());
+        for (ConcurrentHashMap<String, Task> segment : segments) {
+            tasks.addAll(segment.values());
+        }
+        return tasks;
+    }
+
+    public Stream<Task> stream(boolean parallel) {
+        return StreamSupport.stream(spliterator(), parallel);
+    }
+
+    public Spliterator<Task> spliterator() {
+        return new SegmentSpliterator(segments, 0, segments.length);
+    }
+
+    private ConcurrentHashMap<String, Task> segmentFor(String id) {
+        int h = id.hashCode();
+        return segments[(h ^ (h >>> 16)) & mask];
+    }
+
+    /**
+     * Spliterator over a range of segments. Splits segment ranges in half while more than one
+     * segment remains, then falls back to splitting the current segment's own spliterator.
+     */
+    private static final class SegmentSpliterator implements Spliterator<Task> {
+        private final ConcurrentHashMap<String, Task>[] segments;
+        private int lo;
+        private int hi;
+        private Spliterator<Task> current;
+
+        SegmentSpliterator(ConcurrentHashMap<String, Task>[] segments, int lo, int hi) {
+            this.segments = segments;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Task> action) {
+            while (true) {
+                if (current == null) {
+                    if (lo >= hi) {
+                        return false;
+                    }
+                    current = segments[lo++].values().spliterator();
+                }
+                if (current.tryAdvance(action)) {
+                    return true;
+                }
+                current = null;
+            }
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Task> action) {
+            if (current != null) {
+                current.forEachRemaining(action);
+                current = null;
+            }
+            while (lo < hi) {
+                segments[lo++].values().forEach(action);
+            }
+        }
+
+        @Override
+        public Spliterator<Task> trySplit() {
+            if (hi - lo > 1) {
+                int mid = (lo + hi) >>> 1;
+                SegmentSpliterator suffix = new SegmentSpliterator(segments, mid, hi);
+                hi = mid;
+                return suffix;
+            }
+            if (current == null && lo < hi) {
+                current = segments[lo++].values().spliterator();
+            }
+            return current != null && lo >= hi ? current.trySplit() : null;
+        }
+
+        @Override
+        public long estimateSize() {
+            long size = current != null ? current.estimateSize() : 0;
+            for (int i = lo; i < hi; i++) {
+                size += segments[i].size();
+            }
+            return size;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.CONCURRENT | Spliterator.NONNULL;
+        }
+    }
+}
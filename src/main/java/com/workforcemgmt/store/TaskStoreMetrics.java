@@ -0,0 +1,154 @@
+package com.workforcemgmt.store;
+
+import com.workforcemgmt.model.ActivityEntry;
+import com.workforcemgmt.model.Comment;
+import com.workforcemgmt.model.Task;
+import com.workforcemgmt.model.TaskStatus;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Gauges describing the task store. Tasks by status come from the status index and are always
+ * current. History and comment lengths and the estimated heap footprint come from a sample that
+ * walks the whole store on its own thread once per {@code store-sample-interval}, so a metrics
+ * scrape never scans the store; an interval of 0s turns the sample off.
+ *
+ * The heap estimate adds up object headers, fields and Latin-1 string contents of every task with
+ * its history, comments and index entries, assuming compressed references. It is meant for
+ * watching growth, not as an exact size.
+ */
+@Component
+public class TaskStoreMetrics {
+    private static final int TASK_BYTES = 72;
+    private static final int ENTRY_BYTES = 40;
+    private static final int DATE_BYTES = 24;
+    private static final int DATE_TIME_BYTES = 72;
+    private static final int LIST_BYTES = 56;
+    private static final int REFERENCE_BYTES = 4;
+    // Store map node plus one entry in each secondary index and the interval tree, roughly
+    private static final int INDEX_BYTES_PER_TASK = 368;
+
+    private final TaskStore taskStore;
+    private final ScheduledExecutorService sampler;
+    private volatile Sample sample = new Sample(0, 0, 0, 0, 0);
+
+    public TaskStoreMetrics(TaskStore taskStore, TaskIndex taskIndex, MeterRegistry meterRegistry,
+                            @Value("${workforce.metrics.store-sample-interval:60s}") Duration sampleInterval) {
+        this.taskStore = taskStore;
+        for (TaskStatus status : TaskStatus.values()) {
+            Gauge.builder("workforce.tasks", taskIndex, index -> index.withStatus(status).size())
+                .description("Tasks in the store")
+                .tag("status", status.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry);
+        }
+        if (sampleInterval.isZero() || sampleInterval.isNegative()) {
+            this.sampler = null;
+            return;
+        }
+        sampledGauge(meterRegistry, "workforce.tasks.history.mean", "Mean activity history entries per task", Sample::meanHistory);
+        sampledGauge(meterRegistry, "workforce.tasks.history.max", "Longest activity history of a task", Sample::maxHistory);
+        sampledGauge(meterRegistry, "workforce.tasks.comments.mean", "Mean comments per task", Sample::meanComments);
+        sampledGauge(meterRegistry, "workforce.tasks.comments.max", "Most comments on a task", Sample::maxComments);
+        Gauge.builder("workforce.tasks.heap.estimated", this, metrics -> metrics.sample.estimatedBytes())
+            .description("Estimated heap held by the tasks, their history, comments and indexes")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+
+        this.sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-store-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = sampleInterval.toMillis();
+        sampler.scheduleWithFixedDelay(this::sample, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private void sampledGauge(MeterRegistry meterRegistry, String name, String description,
+                              ToDoubleFunction<Sample> value) {
+        Gauge.builder(name, this, metrics -> value.applyAsDouble(metrics.sample))
+            .description(description)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Walk the store once. Tasks change while it runs, so the figures are approximate.
+     */
+    void sample() {
+        long tasks = 0;
+        long historyEntries = 0;
+        int maxHistory = 0;
+        long comments = 0;
+        int maxComments = 0;
+        long bytes = 0;
+        Iterator<Task> iterator = taskStore.stream(false).iterator();
+        while (iterator.hasNext()) {
+            Task task = iterator.next();
+            List<ActivityEntry> history = task.getActivityHistory();
+            List<Comment> taskComments = task.getComments();
+            int historySize = history.size();
+            int commentCount = taskComments.size();
+            tasks++;
+            historyEntries += historySize;
+            maxHistory = Math.max(maxHistory, historySize);
+            comments += commentCount;
+            maxComments = Math.max(maxComments, commentCount);
+            try {
+                bytes += estimateBytes(task, history, taskComments);
+            } catch (IndexOutOfBoundsException e) {
+                // Comments are appended in place without a lock; the task is counted without them
+                bytes += estimateBytes(task, history, List.of());
+            }
+        }
+        sample = new Sample(tasks == 0 ? 0 : (double) historyEntries / tasks, maxHistory,
+                            tasks == 0 ? 0 : (double) comments / tasks, maxComments, bytes);
+    }
+
+    private static long estimateBytes(Task task, List<ActivityEntry> history, List<Comment> comments) {
+        long bytes = TASK_BYTES + INDEX_BYTES_PER_TASK + 2L * DATE_BYTES + 2L * DATE_TIME_BYTES
+            + stringBytes(task.getId()) + stringBytes(task.getTitle()) + stringBytes(task.getDescription())
+            + stringBytes(task.getAssignedStaffId()) + stringBytes(task.getCreatedBy())
+            + stringBytes(task.getCustomerReference())
+            + 2L * LIST_BYTES + (long) REFERENCE_BYTES * (history.size() + comments.size());
+        for (ActivityEntry entry : history) {
+            bytes += ENTRY_BYTES + DATE_TIME_BYTES + stringBytes(entry.getId()) + stringBytes(entry.getUserId())
+                + stringBytes(entry.getUserName()) + stringBytes(entry.getAction()) + stringBytes(entry.getDescription());
+        }
+        for (int i = 0; i < comments.size(); i++) {
+            Comment comment = comments.get(i);
+            if (comment != null) {
+                bytes += ENTRY_BYTES + DATE_TIME_BYTES + stringBytes(comment.getId()) + stringBytes(comment.getUserId())
+                    + stringBytes(comment.getUserName()) + stringBytes(comment.getContent());
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * String object plus its byte array, padded to 8 bytes
+     */
+    private static long stringBytes(String value) {
+        return value == null ? 0 : 24 + ((16 + value.length() + 7) & ~7);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (sampler != null) {
+            sampler.shutdownNow();
+        }
+    }
+
+    private record Sample(double meanHistory, int maxHistory, double meanComments, int maxComments,
+                          long estimatedBytes) {}
+}
@@ -0,0 +1,202 @@
+package com.workforcemgmt.store;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel of keyed deadlines, driven by its own thread. Level 0 has one slot per
+ * tick; each higher level has slots spanning a whole turn of the level below, and its due slot is
+ * cascaded down whenever the level below wraps. A tick therefore only touches the timers expiring
+ * in it (plus, once per wrap, the ones moving down a level), never the full set of timers.
+ *
+ * Scheduling and cancelling are lock-free queue offers from any thread; the wheel itself is only
+ * touched by the wheel thread, which applies them before each tick. A key has at most one timer:
+ * scheduling it again moves the timer. Expired keys are handed to the callback on the wheel thread.
+ */
+public final class TimingWheel {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 7;
+
+    private final long tickMillis;
+    private final Consumer<String> onExpiry;
+    private final Timer[][] wheel = new Timer[LEVELS][SLOTS];
+    private final Map<String, Timer> timers = new HashMap<>();
+    private final Queue<Command> commands = new ConcurrentLinkedQueue<>();
+    private final Thread ticker;
+    private long currentTick;
+    private volatile int size;
+    private volatile boolean running = true;
+
+    public TimingWheel(String name, long tickMillis, Consumer<String> onExpiry) {
+        this.tickMillis = tickMillis;
+        this.onExpiry = onExpiry;
+        this.currentTick = System.currentTimeMillis() / tickMillis;
+        this.ticker = new Thread(this::run, name);
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+
+    /**
+     * Fire the key at the given epoch millisecond, replacing any timer it already has. Deadlines
+     * in the past fire on the next tick.
+     */
+    public void schedule(String key, long deadlineMillis) {
+        commands.offer(new Command(key, deadlineMillis));
+    }
+
+    public void cancel(String key) {
+        commands.offer(new Command(key, -1));
+    }
+
+    /**
+     * Timers pending as of the last tick
+     */
+    public int size() {
+        return size;
+    }
+
+    public void shutdown() {
+        running = false;
+        LockSupport.unpark(ticker);
+    }
+
+    private void run() {
+        while (running) {
+            long now = System.currentTimeMillis();
+            applyCommands();
+            List<String> expired = new ArrayList<>();
+            // Catch up tick by tick after a stall, each one still only touching its own slots
+            while (currentTick < now / tickMillis) {
+                currentTick++;
+                advance(expired);
+            }
+            size = timers.size();
+            for (String key : expired) {
+                try {
+                    onExpiry.accept(key);
+                } catch (RuntimeException e) {
+                    // One failing key must not stop the wheel; the owner decides whether to reschedule
+                }
+            }
+            long nextTick = (currentTick + 1) * tickMillis;
+            LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(Math.max(1, nextTick - System.currentTimeMillis())));
+        }
+    }
+
+    private void applyCommands() {
+        Command command;
+        while ((command = commands.poll()) != null) {
+            Timer timer = timers.remove(command.key);
+            if (timer != null) {
+                timer.unlink();
+            }
+            if (command.deadlineMillis >= 0) {
+                timer = new Timer(command.key, Math.floorDiv(command.deadlineMillis + tickMillis - 1, tickMillis));
+                timers.put(command.key, timer);
+                place(timer);
+            }
+        }
+    }
+
+    /**
+     * Cascade the higher levels due at the new tick, then expire its level 0 slot
+     */
+    private void advance(List<String> expired) {
+        for (int level = LEVELS - 1; level > 0; level--) {
+            if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                Timer timer = detachSlot(level, (int) (currentTick >>> (SLOT_BITS * level)) & MASK);
+                while (timer != null) {
+                    Timer next = timer.next;
+                    timer.next = null;
+                    place(timer);
+                    timer = next;
+                }
+            }
+        }
+        Timer timer = detachSlot(0, (int) currentTick & MASK);
+        while (timer != null) {
+            timers.remove(timer.key);
+            expired.add(timer.key);
+            timer = timer.next;
+        }
+    }
+
+    private void place(Timer timer) {
+        // Timers already due go to the next tick; beyond the top level they park in its farthest
+        // slot and are placed again when it cascades
+        long delta = Math.min(Math.max(timer.deadlineTick - currentTick, 1), (1L << (SLOT_BITS * LEVELS)) - 1);
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        long tick = currentTick + delta;
+        link(timer, level, (int) (tick >>> (SLOT_BITS * level)) & MASK);
+    }
+
+    private void link(Timer timer, int level, int slot) {
+        Timer head = wheel[level][slot];
+        timer.level = level;
+        timer.slot = slot;
+        timer.prev = null;
+        timer.next = head;
+        if (head != null) {
+            head.prev = timer;
+        }
+        wheel[level][slot] = timer;
+    }
+
+    private Timer detachSlot(int level, int slot) {
+        Timer head = wheel[level][slot];
+        wheel[level][slot] = null;
+        for (Timer timer = head; timer != null; timer = timer.next) {
+            timer.level = -1;
+            timer.prev = null;
+        }
+        return head;
+    }
+
+    private record Command(String key, long deadlineMillis) {}
+
+    /**
+     * A pending timer, linked into the slot list it is filed under
+     */
+    private final class Timer {
+        private final String key;
+        private final long deadlineTick;
+        private int level = -1;
+        private int slot;
+        private Timer prev;
+        private Timer next;
+
+        Timer(String key, long deadlineTick) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+        }
+
+        void unlink() {
+            if (level < 0) {
+                return;
+            }
+            if (prev != null) {
+                prev.next = next;
+            } else {
+                wheel[level][slot] = next;
+            }
+            if (next != null) {
+                next.prev = prev;
+            }
+            level = -1;
+            prev = null;
+            next = null;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.workforcemgmt.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventRingTest {
+    private static final int PRODUCERS = 8;
+    private static final int EVENTS_PER_PRODUCER = 20_000;
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        assertEquals(1, new EventRing<String>(0).capacity());
+        assertEquals(8, new EventRing<String>(5).capacity());
+        assertEquals(8, new EventRing<String>(8).capacity());
+    }
+
+    @Test
+    void fullRingRejectsUntilTheConsumerFreesASlot() {
+        EventRing<Integer> ring = new EventRing<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, ring.publish(i));
+        }
+        assertEquals(-1, ring.publish(4));
+        assertFalse(ring.offer(4));
+
+        assertEquals(0, ring.poll());
+        assertEquals(4, ring.publish(4));
+        for (int i = 1; i <= 4; i++) {
+            assertEquals(i, ring.poll());
+        }
+        assertNull(ring.poll());
+    }
+
+    @Test
+    void keepsOrderOverManyLaps() {
+        EventRing<Integer> ring = new EventRing<>(4);
+        int next = 0;
+        for (int lap = 0; lap < 1_000; lap++) {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(ring.offer(lap * 3 + i));
+            }
+            for (int i = 0; i < 3; i++) {
+                assertEquals(next++, ring.poll());
+            }
+            assertNull(ring.poll());
+        }
+    }
+
+    @Test
+    void concurrentProducersAreSeenOnceInPublishedOrder() throws Exception {
+        EventRing<long[]> ring = new EventRing<>(256);
+        int total = PRODUCERS * EVENTS_PER_PRODUCER;
+        // Position each event was published at, indexed by producer * EVENTS_PER_PRODUCER + sequence
+        AtomicLongArray published = new AtomicLongArray(total);
+        ExecutorService producers = Executors.newFixedThreadPool(PRODUCERS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < PRODUCERS; p++) {
+                long producer = p;
+                futures.add(producers.submit(() -> {
+                    start.await();
+                    for (long i = 0; i < EVENTS_PER_PRODUCER; i++) {
+                        long position;
+                        while ((position = ring.publish(new long[] {producer, i})) < 0) {
+                            // Yield rather than spin, the consumer may share the only core
+                            Thread.yield();
+                        }
+                        published.set((int) (producer * EVENTS_PER_PRODUCER + i), position);
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            long[] lastSeen = new long[PRODUCERS];
+            Arrays.fill(lastSeen, -1);
+            int[] polled = new int[total];
+            long stalledSince = System.nanoTime();
+            for (int position = 0; position < total; ) {
+                long[] event = ring.poll();
+                if (event == null) {
+                    assertTrue(System.nanoTime() - stalledSince < TimeUnit.SECONDS.toNanos(10),
+                               "no event published for 10s after " + position + " events");
+                    Thread.yield();
+                    continue;
+                }
+                stalledSince = System.nanoTime();
+                int producer = (int) event[0];
+                assertEquals(lastSeen[producer] + 1, event[1], "producer " + producer + " seen out of order");
+                lastSeen[producer] = event[1];
+                polled[position++] = (int) (producer * EVENTS_PER_PRODUCER + event[1]);
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+            assertNull(ring.poll());
+            for (int p = 0; p < PRODUCERS; p++) {
+                assertEquals(EVENTS_PER_PRODUCER - 1, lastSeen[p]);
+            }
+            for (int position = 0; position < total; position++) {
+                assertEquals(position, published.get(polled[position]), "event polled out of its published position");
+            }
+        } finally {
+            producers.shutdownNow();
+        }
+    }
+}
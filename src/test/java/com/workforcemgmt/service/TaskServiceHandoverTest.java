@@ -0,0 +1,72 @@
+package com.workforcemgmt.service;
+
+import com.workforcemgmt.dto.CreateTaskRequest;
+import com.workforcemgmt.exception.ResourceNotFoundException;
+import com.workforcemgmt.model.Priority;
+import com.workforcemgmt.model.Staff;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+                properties = "workforce.escalation.enabled=false")
+class TaskServiceHandoverTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private StaffService staffService;
+
+    @Test
+    void deleteFirstIntoSingleMemberDepartmentFailsWithoutDeleting() {
+        String department = "Solo-" + UUID.randomUUID();
+        Staff only = staffService.createStaff(new Staff(null, "Only Member", "only@company.com", department));
+        List<String> taskIds = createTasks(only.getId(), 3);
+
+        assertThrows(ResourceNotFoundException.class,
+                     () -> taskService.handOverTasks(only.getId(), null, department, "tester", true));
+
+        assertTrue(staffService.staffExists(only.getId()));
+        for (String taskId : taskIds) {
+            assertEquals(only.getId(), taskService.getTaskById(taskId).getAssignedStaffId());
+        }
+    }
+
+    @Test
+    void deleteFirstIntoDepartmentMovesEveryTaskAndDeletes() {
+        String department = "Pair-" + UUID.randomUUID();
+        Staff leaving = staffService.createStaff(new Staff(null, "Leaving Member", "leaving@company.com", department));
+        Staff staying = staffService.createStaff(new Staff(null, "Staying Member", "staying@company.com", department));
+        List<String> taskIds = createTasks(leaving.getId(), 3);
+
+        Map<String, Integer> assignments = taskService.handOverTasks(leaving.getId(), null, department, "tester", true);
+
+        assertEquals(Map.of(staying.getId(), 3), assignments);
+        assertFalse(staffService.staffExists(leaving.getId()));
+        for (String taskId : taskIds) {
+            assertEquals(staying.getId(), taskService.getTaskById(taskId).getAssignedStaffId());
+        }
+    }
+
+    private List<String> createTasks(String staffId, int count) {
+        LocalDate today = LocalDate.now();
+        return IntStream.range(0, count)
+            .mapToObj(i -> taskService.createTask(new CreateTaskRequest("Task " + i, null, Priority.MEDIUM, staffId,
+                                                                        today, today.plusDays(1), "tester",
+                                                                        "customer-" + UUID.randomUUID())))
+            .map(mutation -> mutation.getTask().getId())
+            .toList();
+    }
+}
@@ -0,0 +1,164 @@
+package com.workforcemgmt.store;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CustomerLaneExecutorTest {
+    private static final int PRODUCERS = 8;
+    private static final int COMMANDS_PER_PRODUCER = 5_000;
+
+    private CustomerLaneExecutor lanes;
+    private ExecutorService producers;
+
+    @BeforeEach
+    void setUp() {
+        lanes = new CustomerLaneExecutor(4);
+        producers = Executors.newFixedThreadPool(PRODUCERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        producers.shutdownNow();
+        lanes.shutdown();
+    }
+
+    @Test
+    void laneCountIsRoundedUpToAPowerOfTwo() {
+        CustomerLaneExecutor three = new CustomerLaneExecutor(3);
+        try {
+            assertEquals(4, three.laneCount());
+            assertEquals(-1, three.laneOf(null));
+            assertEquals(three.laneOf("customer-1"), three.laneOf("customer-1"));
+        } finally {
+            three.shutdown();
+        }
+    }
+
+    @Test
+    void commandsForOneCustomerRunOneAtATimeInSubmissionOrder() throws Exception {
+        // Deliberately unsynchronized: only the lane's serialization keeps these consistent
+        int[] counter = {0};
+        boolean[] inside = {false};
+        List<int[]> executed = new ArrayList<>();
+        Set<Thread> laneThreads = ConcurrentHashMap.newKeySet();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int p = 0; p < PRODUCERS; p++) {
+            int producer = p;
+            futures.add(producers.submit(() -> {
+                for (int i = 0; i < COMMANDS_PER_PRODUCER; i++) {
+                    int sequence = i;
+                    lanes.execute("customer-1", () -> {
+                        assertFalse(inside[0], "commands for one customer overlapped");
+                        inside[0] = true;
+                        laneThreads.add(Thread.currentThread());
+                        counter[0]++;
+                        executed.add(new int[] {producer, sequence});
+                        inside[0] = false;
+                        return null;
+                    });
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+
+        // The waits on each command's result publish the lane's writes to this thread
+        assertEquals(PRODUCERS * COMMANDS_PER_PRODUCER, counter[0]);
+        assertEquals(1, laneThreads.size());
+        int[] last = new int[PRODUCERS];
+        Arrays.fill(last, -1);
+        for (int[] command : executed) {
+            assertEquals(last[command[0]] + 1, command[1], "producer " + command[0] + " ran out of order");
+            last[command[0]] = command[1];
+        }
+    }
+
+    @Test
+    void customersOnDifferentLanesRunInParallel() throws Exception {
+        String first = "customer-1";
+        String second = customerOnAnotherLane(first);
+        CountDownLatch secondRan = new CountDownLatch(1);
+
+        // Would never finish if both customers shared one thread
+        Future<Boolean> waiting = producers.submit(() -> lanes.execute(first, () -> await(secondRan)));
+        lanes.execute(second, () -> {
+            secondRan.countDown();
+            return null;
+        });
+        assertTrue(waiting.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void nestedCommandForTheSameLaneRunsInline() {
+        Thread[] threads = new Thread[2];
+        String result = lanes.execute("customer-1", () -> {
+            threads[0] = Thread.currentThread();
+            return lanes.execute("customer-1", () -> {
+                threads[1] = Thread.currentThread();
+                return "done";
+            });
+        });
+        assertEquals("done", result);
+        assertSame(threads[0], threads[1]);
+    }
+
+    @Test
+    void commandWithoutCustomerRunsOnTheCallingThread() {
+        assertSame(Thread.currentThread(), lanes.execute(null, Thread::currentThread));
+    }
+
+    @Test
+    void failuresAreRethrownAsThrownOnTheLane() {
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+            () -> lanes.execute("customer-1", () -> {
+                throw new IllegalStateException("boom");
+            }));
+        assertEquals("boom", thrown.getMessage());
+        // The lane keeps serving commands after a failure
+        assertEquals(1, lanes.execute("customer-1", () -> 1));
+    }
+
+    @Test
+    void rejectsCommandsAfterShutdown() {
+        lanes.shutdown();
+        assertThrows(IllegalStateException.class, () -> lanes.execute("customer-1", () -> 1));
+    }
+
+    private String customerOnAnotherLane(String customer) {
+        for (int i = 2; ; i++) {
+            String candidate = "customer-" + i;
+            if (lanes.laneOf(candidate) != lanes.laneOf(customer)) {
+                return candidate;
+            }
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.workforcemgmt.store;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IntervalTreeTest {
+    private record Interval(long start, long end, String id) {}
+
+    @Test
+    void boundsAreInclusive() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(10, 20, "a");
+        tree.insert(21, 30, "b");
+        tree.insert(15, 15, "c");
+
+        assertEquals(Set.of("a"), overlapping(tree, 0, 10));
+        assertEquals(Set.of("a", "b"), overlapping(tree, 20, 21));
+        assertEquals(Set.of("a", "c"), overlapping(tree, 15, 15));
+        assertEquals(Set.of("b"), overlapping(tree, 30, 40));
+        assertEquals(Set.of(), overlapping(tree, 31, 40));
+        assertEquals(Set.of(), overlapping(tree, 0, 9));
+    }
+
+    @Test
+    void intervalsWithTheSameStartAreKeptApartById() {
+        IntervalTree tree = new IntervalTree();
+        tree.insert(5, 10, "a");
+        tree.insert(5, 6, "b");
+        tree.insert(5, 8, "c");
+        tree.delete(5, "c");
+
+        assertEquals(Set.of("a", "b"), overlapping(tree, 5, 5));
+        assertEquals(Set.of("a"), overlapping(tree, 9, 12));
+        // Deleting an absent pair changes nothing
+        tree.delete(5, "missing");
+        tree.delete(6, "a");
+        assertEquals(Set.of("a", "b"), overlapping(tree, 0, 100));
+    }
+
+    @Test
+    void matchesABruteForceScanUnderRandomUpdates() {
+        Random random = new Random(42);
+        IntervalTree tree = new IntervalTree();
+        List<Interval> oracle = new ArrayList<>();
+
+        for (int step = 0; step < 20_000; step++) {
+            if (oracle.isEmpty() || random.nextInt(3) > 0) {
+                long start = random.nextInt(1_000);
+                Interval interval = new Interval(start, start + random.nextInt(random.nextBoolean() ? 5 : 200),
+                                                 UUID.randomUUID().toString());
+                tree.insert(interval.start(), interval.end(), interval.id());
+                oracle.add(interval);
+            } else {
+                Interval interval = oracle.remove(random.nextInt(oracle.size()));
+                tree.delete(interval.start(), interval.id());
+            }
+
+            if (step % 20 == 0) {
+                long from = random.nextInt(1_300) - 100;
+                long to = from + random.nextInt(random.nextBoolean() ? 3 : 300);
+                assertEquals(bruteForce(oracle, from, to), overlapping(tree, from, to),
+                             "step " + step + ", window [" + from + ", " + to + "]");
+            }
+        }
+        assertEquals(bruteForce(oracle, Long.MIN_VALUE, Long.MAX_VALUE), overlapping(tree, Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    void reportsEachMatchOnce() {
+        IntervalTree tree = new IntervalTree();
+        for (int i = 0; i < 1_000; i++) {
+            tree.insert(i % 50, i % 50 + 100, "task-" + i);
+        }
+        List<String> matches = new ArrayList<>();
+        tree.overlapping(60, 70, matches::add);
+        assertEquals(1_000, matches.size());
+        assertEquals(matches.size(), new HashSet<>(matches).size(), "duplicate matches");
+    }
+
+    private static Set<String> overlapping(IntervalTree tree, long from, long to) {
+        Set<String> ids = new HashSet<>();
+        tree.overlapping(from, to, ids::add);
+        return ids;
+    }
+
+    private static Set<String> bruteForce(List<Interval> intervals, long from, long to) {
+        Set<String> ids = new HashSet<>();
+        for (Interval interval : intervals) {
+            if (interval.start() <= to && interval.end() >= from) {
+                ids.add(interval.id());
+            }
+        }
+        return ids;
+    }
+}
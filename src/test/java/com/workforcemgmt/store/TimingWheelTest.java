@@ -0,0 +1,107 @@
+package com.workforcemgmt.store;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+    // Level 0 spans 64 ticks and level 1 spans 64 * 64, matching the wheel's six slot bits
+    private static final long LEVEL_0_SPAN = 64;
+    private static final long LEVEL_1_SPAN = 64 * 64;
+    private static final long TICK_MILLIS = 1;
+    // Generous for a loaded build machine; the wheel itself is late by at most a tick
+    private static final long LATENESS_MILLIS = 500;
+
+    private final Map<String, List<Long>> fired = new ConcurrentHashMap<>();
+    private TimingWheel wheel;
+
+    @AfterEach
+    void tearDown() {
+        if (wheel != null) {
+            wheel.shutdown();
+        }
+    }
+
+    @Test
+    void firesEachTimerOnceAroundTheCascadeBoundaries() throws Exception {
+        long now = System.currentTimeMillis();
+        Map<String, Long> deadlines = new LinkedHashMap<>();
+        deadlines.put("past", now - 1_000);
+        deadlines.put("next-tick", now + 1);
+        // Either side of the next level 1 and level 2 boundaries, where timers cascade down a level
+        long level1Boundary = (now / LEVEL_0_SPAN + 2) * LEVEL_0_SPAN;
+        long level2Boundary = (now / LEVEL_1_SPAN + 1) * LEVEL_1_SPAN;
+        for (long offset = -1; offset <= 1; offset++) {
+            deadlines.put("level-1" + offset, level1Boundary + offset);
+            deadlines.put("level-2" + offset, level2Boundary + offset);
+            deadlines.put("after-level-2" + offset, level2Boundary + LEVEL_0_SPAN + offset);
+        }
+
+        CountDownLatch all = new CountDownLatch(deadlines.size());
+        wheel = new TimingWheel("test-wheel", TICK_MILLIS, key -> {
+            fired.computeIfAbsent(key, k -> new ArrayList<>()).add(System.currentTimeMillis());
+            all.countDown();
+        });
+        deadlines.forEach(wheel::schedule);
+
+        assertTrue(all.await(LEVEL_1_SPAN * 2 + LATENESS_MILLIS, TimeUnit.MILLISECONDS), "timers left: " + all.getCount());
+        // Give a duplicate expiry the chance to show up
+        Thread.sleep(LEVEL_0_SPAN * 2);
+        assertEquals(deadlines.keySet(), fired.keySet());
+        deadlines.forEach((key, deadline) -> {
+            List<Long> times = fired.get(key);
+            assertEquals(1, times.size(), key + " fired " + times.size() + " times");
+            long firedAt = times.get(0);
+            assertTrue(firedAt >= Math.min(deadline, now), key + " fired " + (deadline - firedAt) + "ms early");
+            assertTrue(firedAt <= Math.max(deadline, now) + LATENESS_MILLIS, key + " fired " + (firedAt - deadline) + "ms late");
+        });
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void reschedulingMovesTheTimerAndCancellingDropsIt() throws Exception {
+        CountDownLatch moved = new CountDownLatch(1);
+        wheel = new TimingWheel("test-wheel", TICK_MILLIS, key -> {
+            fired.computeIfAbsent(key, k -> new ArrayList<>()).add(System.currentTimeMillis());
+            if (key.equals("moved")) {
+                moved.countDown();
+            }
+        });
+        long now = System.currentTimeMillis();
+        wheel.schedule("moved", now + 50);
+        wheel.schedule("cancelled", now + 50);
+        wheel.schedule("moved", now + 300);
+        wheel.cancel("cancelled");
+
+        assertTrue(moved.await(300 + LATENESS_MILLIS, TimeUnit.MILLISECONDS));
+        Thread.sleep(LEVEL_0_SPAN * 2);
+        assertEquals(1, fired.get("moved").size());
+        assertEquals(1, fired.size(), "fired: " + fired.keySet());
+        assertTrue(fired.get("moved").get(0) >= now + 300, "moved timer fired at its old deadline");
+    }
+
+    @Test
+    void failingCallbackDoesNotStopTheWheel() throws Exception {
+        CountDownLatch second = new CountDownLatch(1);
+        wheel = new TimingWheel("test-wheel", TICK_MILLIS, key -> {
+            if (key.equals("failing")) {
+                throw new IllegalStateException("boom");
+            }
+            second.countDown();
+        });
+        long now = System.currentTimeMillis();
+        wheel.schedule("failing", now + 5);
+        wheel.schedule("second", now + 100);
+        assertTrue(second.await(100 + LATENESS_MILLIS, TimeUnit.MILLISECONDS));
+    }
+}